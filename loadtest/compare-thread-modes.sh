@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+# Drives one running instance with hey (https://github.com/rakyll/hey) and appends a summary per
+# concurrency level to loadtest/results/<label>.txt. Run it once against platform-thread mode and
+# once against virtual-thread mode on the same host and database; see loadtest/README.md.
+set -euo pipefail
+
+LABEL=${1:?usage: $0 <label, e.g. platform or virtual>}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+USERNAME=${LOADTEST_USERNAME:?set LOADTEST_USERNAME}
+PASSWORD=${LOADTEST_PASSWORD:?set LOADTEST_PASSWORD}
+DURATION=${DURATION:-60s}
+CONCURRENCY=${CONCURRENCY:-50 200 800}
+
+command -v hey >/dev/null || { echo "hey is not installed" >&2; exit 1; }
+
+TOKEN=$(curl -sf -H 'Content-Type: application/json' \
+  -d "{\"username\":\"${USERNAME}\",\"password\":\"${PASSWORD}\"}" \
+  "${BASE_URL}/api/v1/account/login" | sed -E 's/.*"token":"([^"]+)".*/\1/')
+
+OUT="$(dirname "$0")/results/${LABEL}.txt"
+mkdir -p "$(dirname "$OUT")"
+echo "# ${LABEL} $(date -u +%FT%TZ) duration=${DURATION}" >> "$OUT"
+
+for c in $CONCURRENCY; do
+  # One warm-up pass so JIT and pool growth do not land in the measured run.
+  hey -z 10s -c "$c" -H "Authorization: Bearer ${TOKEN}" "${BASE_URL}/api/v1/tasks?page=0&size=20" >/dev/null
+  hey -z "$DURATION" -c "$c" -H "Authorization: Bearer ${TOKEN}" "${BASE_URL}/api/v1/tasks?page=0&size=20" \
+    | awk -v c="$c" '
+        /Requests\/sec/     { rps = $2 }
+        /50%+ in/           { p50 = $3 }
+        /99%+ in/           { p99 = $3 }
+        /\[[0-9]+\]/        { codes = codes " " $1 "x" $2 }
+        END { printf "c=%-4s rps=%-10s p50=%-8s p99=%-8s status:%s\n", c, rps, p50, p99, codes }' \
+    | tee -a "$OUT"
+done
@@ -0,0 +1,77 @@
+package com.test.finalproject.config;
+
+import com.test.finalproject.enums.AccountStatus;
+import com.test.finalproject.model.projection.UserVersionRow;
+import com.test.finalproject.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory record of the lowest account status version each user's tokens must carry.
+ * Locking an account or resetting its password bumps the version, which revokes every
+ * token issued before the change without a database lookup per request.
+ * <p>
+ * The version is persisted, so the registry is rebuilt from every user whose version was ever
+ * bumped before the server takes requests, and refreshed every {@code revocation-refresh} so a
+ * revocation made on another node takes effect here within that interval.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountRevocationRegistry implements SmartInitializingSingleton {
+
+    private final UserRepository userRepository;
+
+    private final Map<Integer, Integer> minimumVersions = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    @Scheduled(
+            initialDelayString = "${application.security.jwt.revocation-refresh:30000}",
+            fixedDelayString = "${application.security.jwt.revocation-refresh:30000}")
+    public void reload() {
+        userRepository.findRevokedVersions().forEach(this::revoke);
+    }
+
+    /**
+     * Inside a transaction the version only rises after commit: it never goes back down, so raising it
+     * for a change that rolls back would reject the user's fresh tokens until the next restart.
+     */
+    public void revoke(int userId, int minimumVersion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    raise(userId, minimumVersion);
+                }
+            });
+        } else {
+            raise(userId, minimumVersion);
+        }
+    }
+
+    public boolean isRevoked(int userId, int statusVersion) {
+        final Integer minimumVersion = minimumVersions.get(userId);
+        return minimumVersion != null && statusVersion < minimumVersion;
+    }
+
+    /**
+     * Tokens older than the persisted version are revoked; a locked user's current tokens are too.
+     */
+    private void revoke(UserVersionRow row) {
+        raise(row.id(), row.status() == AccountStatus.LOCKED ? row.statusVersion() + 1 : row.statusVersion());
+    }
+
+    private void raise(int userId, int minimumVersion) {
+        minimumVersions.merge(userId, minimumVersion, Math::max);
+    }
+}
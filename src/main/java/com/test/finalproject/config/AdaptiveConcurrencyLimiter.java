@@ -0,0 +1,119 @@
+package com.test.finalproject.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * AIMD concurrency limit driven by observed latency. Each kind of call (the {@code key} passed to
+ * {@link #release}) keeps its own moving-average baseline, so a bulk operation that is always slow is
+ * compared with itself rather than with single-row calls. A call is slow when it takes longer than
+ * {@code latencyTolerance} times its baseline and longer than the {@code latencyThreshold} floor.
+ * <p>
+ * Every call that is not slow while the limit is at least half used raises the limit by {@code 1 / limit},
+ * about one per limit's worth of calls. A slow call, or one that failed for lack of database capacity,
+ * cuts it by {@code backoffRatio}, at most once per {@code backoffWindow}: the calls already in flight
+ * when the limit drops report the same congestion and must not cut it again. The limit stays within
+ * {@code [minLimit, maxLimit]}. The limit, the in-flight count and the baselines are updated with CAS only.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * Weight of a new sample in a baseline; about the last 20 calls of a kind dominate it.
+     */
+    private static final int BASELINE_SMOOTHING = 20;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long latencyThresholdNanos;
+
+    private final double latencyTolerance;
+
+    private final double backoffRatio;
+
+    private final long backoffWindowNanos;
+
+    private final AtomicLong limitBits;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong lastBackoffNanos;
+
+    private final Map<Object, AtomicLong> baselines = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos,
+                                      double latencyTolerance, double backoffRatio, long backoffWindowNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.backoffWindowNanos = backoffWindowNanos;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(Math.max(minLimit, Math.min(maxLimit, initialLimit))));
+        this.lastBackoffNanos = new AtomicLong(System.nanoTime() - backoffWindowNanos);
+    }
+
+    /**
+     * Claims a slot, or returns {@code false} when the current limit is already in use.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot claimed by {@link #tryAcquire()} and feeds the outcome of a call of kind {@code key}
+     * into the limit.
+     */
+    public void release(Object key, long latencyNanos, boolean overloaded) {
+        release(key, latencyNanos, overloaded, System.nanoTime());
+    }
+
+    void release(Object key, long latencyNanos, boolean overloaded, long nowNanos) {
+        final int used = inFlight.getAndDecrement();
+        if (overloaded || isSlow(key, latencyNanos)) {
+            final long last = lastBackoffNanos.get();
+            if (nowNanos - last >= backoffWindowNanos && lastBackoffNanos.compareAndSet(last, nowNanos)) {
+                update(limit -> Math.max(minLimit, limit * backoffRatio));
+            }
+        } else if (used * 2 >= getLimit()) {
+            // Only grow while the limit is actually being exercised, so an idle period cannot inflate it.
+            update(limit -> Math.min(maxLimit, limit + 1 / limit));
+        }
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Compares the call with its kind's baseline, then folds it in. Slow calls are folded in too, so a kind
+     * whose latency has genuinely moved stops counting as slow after a few dozen calls, while one slow spike
+     * still triggers a cut. The first call of a kind only seeds the baseline.
+     */
+    private boolean isSlow(Object key, long latencyNanos) {
+        final AtomicLong baseline = baselines.computeIfAbsent(key, k -> new AtomicLong(-1));
+        final long previous = baseline.getAndUpdate(
+                average -> average < 0 ? latencyNanos : average + (latencyNanos - average) / BASELINE_SMOOTHING);
+        return previous >= 0 && latencyNanos > latencyThresholdNanos && latencyNanos > previous * latencyTolerance;
+    }
+
+    private void update(DoubleUnaryOperator change) {
+        limitBits.updateAndGet(bits -> Double.doubleToLongBits(change.applyAsDouble(Double.longBitsToDouble(bits))));
+    }
+}
@@ -1,7 +1,9 @@
 package com.test.finalproject.config;
 
 import com.test.finalproject.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,7 +12,6 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @RequiredArgsConstructor
@@ -19,23 +20,48 @@ public class ApplicationConfig {
 
     private final UserRepository userRepository;
 
+    private final UserDetailsCache userDetailsCache;
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${application.security.password.algorithm:bcrypt}") String algorithm,
+            @Value("${application.security.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${application.security.password.pbkdf2-iterations:310000}") int pbkdf2Iterations,
+            @Value("${application.security.password.argon2-memory:16384}") int argon2Memory,
+            @Value("${application.security.password.argon2-iterations:2}") int argon2Iterations,
+            @Value("${application.security.password.executor.pool-size:4}") int poolSize,
+            @Value("${application.security.password.executor.queue-capacity:16}") int queueCapacity,
+            @Value("${application.security.password.executor.timeout:2000}") long timeout,
+            @Value("${application.security.password.executor.retry-after:1}") long retryAfterSeconds) {
+        return new OffloadingPasswordEncoder(
+                PasswordEncoderFactory.create(
+                        algorithm,
+                        bcryptStrength,
+                        pbkdf2Iterations,
+                        argon2Memory,
+                        argon2Iterations
+                ),
+                poolSize,
+                queueCapacity,
+                timeout,
+                retryAfterSeconds,
+                meterRegistry
+        );
     }
 
     @Bean
-    public AuthenticationProvider getAuthenticationProvider() {
+    public AuthenticationProvider getAuthenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(getUserDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
     @Bean
     public UserDetailsService getUserDetailsService() {
-        return username -> userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Email not found"));
+        return username -> userDetailsCache.get(username, key -> userRepository.findByUsername(key)
+                .orElseThrow(() -> new UsernameNotFoundException("Email not found")));
     }
 
     @Bean
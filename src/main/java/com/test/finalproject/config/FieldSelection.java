@@ -0,0 +1,73 @@
+package com.test.finalproject.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.test.finalproject.constants.MessageException;
+import com.test.finalproject.exception.BadRequestException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Helpers for the {@code fields=} and {@code expand=} query parameters of the listing endpoints.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class FieldSelection {
+
+    private static final String ID = "id";
+
+    /**
+     * Checks the requested expansions against the ones the endpoint supports.
+     */
+    public static Set<String> expand(Set<String> requested, Set<String> supported) {
+        if (requested == null || requested.isEmpty()) {
+            return Set.of();
+        }
+        if (!supported.containsAll(requested)) {
+            throw new BadRequestException(MessageException.INVALID_EXPAND);
+        }
+        return requested;
+    }
+
+    /**
+     * Wraps the body so only the requested properties of {@code type} are written; {@code id} and the
+     * property each expansion loads are always kept. Nested objects of other types are not affected.
+     */
+    public static MappingJacksonValue filter(Object body, String filterId, Class<? extends Record> type,
+                                             Set<String> fields, Set<String> expansions) {
+        final MappingJacksonValue value = new MappingJacksonValue(body);
+        if (fields == null || fields.isEmpty()) {
+            return value;
+        }
+
+        final Set<String> properties = Arrays.stream(type.getRecordComponents())
+                .map(FieldSelection::jsonName)
+                .collect(Collectors.toSet());
+        if (!properties.containsAll(fields)) {
+            throw new BadRequestException(MessageException.INVALID_FIELDS);
+        }
+
+        final Set<String> selected = new HashSet<>(fields);
+        selected.add(ID);
+        expansions.forEach(expansion -> selected.add(expansion.split("\\.", 2)[0]));
+        value.setFilters(new SimpleFilterProvider()
+                .setFailOnUnknownId(false)
+                .addFilter(filterId, SimpleBeanPropertyFilter.filterOutAllExcept(selected)));
+        return value;
+    }
+
+    /**
+     * Field names are the names clients see, so a renamed component is selected by its JSON name.
+     */
+    private static String jsonName(RecordComponent component) {
+        final JsonProperty property = component.getAccessor().getAnnotation(JsonProperty.class);
+        return property != null && !property.value().isEmpty() ? property.value() : component.getName();
+    }
+}
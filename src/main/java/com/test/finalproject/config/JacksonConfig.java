@@ -0,0 +1,36 @@
+package com.test.finalproject.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.test.finalproject.model.dtos.task.TaskRes;
+import com.test.finalproject.model.dtos.user.UserRes;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    public static final String TASK_FILTER = "taskFields";
+    public static final String USER_FILTER = "userFields";
+
+    /**
+     * Binds the response records to property filters through mix-ins so the records stay plain for other mappers.
+     * Without a filter for the id in the current response every property is written.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldFilterCustomizer() {
+        return builder -> builder
+                .mixIn(TaskRes.class, TaskFieldsMixin.class)
+                .mixIn(UserRes.class, UserFieldsMixin.class)
+                .filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+
+    @JsonFilter(TASK_FILTER)
+    interface TaskFieldsMixin {
+    }
+
+    @JsonFilter(USER_FILTER)
+    interface UserFieldsMixin {
+    }
+}
@@ -1,12 +1,15 @@
 package com.test.finalproject.config;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -15,6 +18,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
 
 @Component
 @RequiredArgsConstructor
@@ -24,6 +28,11 @@ public class JwtFilter extends OncePerRequestFilter {
 
     private final UserDetailsService userDetailsService;
 
+    private final AccountRevocationRegistry revocationRegistry;
+
+    @Value("${application.security.jwt.stateless:false}")
+    private boolean stateless;
+
     @Override
     protected void doFilterInternal(
             @NotNull HttpServletRequest request,
@@ -44,27 +53,42 @@ public class JwtFilter extends OncePerRequestFilter {
         }
 
         final String jwt = authHeader.substring(7);
-        final String emailUser = jwtUtil.extractUsername(jwt);
-
+        final Claims claims = jwtUtil.validateToken(jwt).orElse(null);
 
-        if (emailUser != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (claims != null && claims.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(emailUser);
+            final JwtPrincipal principal = stateless ? JwtPrincipal.fromClaims(claims) : null;
 
-            if (jwtUtil.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
+            if (principal != null) {
+                if (!revocationRegistry.isRevoked(principal.id(), principal.statusVersion())) {
+                    authenticate(request, principal, principal.getAuthorities());
+                }
+            } else {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
 
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+                if (userDetails.isAccountNonLocked() && jwtUtil.isTokenValid(claims, userDetails)) {
+                    authenticate(request, userDetails, userDetails.getAuthorities());
+                }
             }
         }
         filterChain.doFilter(request, response);
     }
+
+    private void authenticate(
+            HttpServletRequest request,
+            Object principal,
+            Collection<? extends GrantedAuthority> authorities) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                authorities
+        );
+
+        authToken.setDetails(
+                new WebAuthenticationDetailsSource().buildDetails(request)
+        );
+
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
@@ -0,0 +1,41 @@
+package com.test.finalproject.config;
+
+import com.test.finalproject.enums.RoleName;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Principal rebuilt from verified token claims, without touching the database.
+ */
+public record JwtPrincipal(
+        Integer id,
+        String username,
+        RoleName role,
+        int statusVersion
+) implements AuthenticatedPrincipal {
+
+    public static JwtPrincipal fromClaims(Claims claims) {
+        final Integer id = claims.get(JwtUtil.CLAIM_USER_ID, Integer.class);
+        final String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        final Integer statusVersion = claims.get(JwtUtil.CLAIM_STATUS_VERSION, Integer.class);
+
+        if (id == null || role == null || statusVersion == null || claims.getSubject() == null) {
+            return null;
+        }
+        return new JwtPrincipal(id, claims.getSubject(), RoleName.valueOf(role), statusVersion);
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.toString()));
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
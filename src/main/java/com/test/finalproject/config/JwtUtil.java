@@ -1,10 +1,17 @@
 package com.test.finalproject.config;
 
+import com.test.finalproject.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -14,18 +21,79 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Service
 public class JwtUtil {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_STATUS_VERSION = "sv";
+
     @Value("${application.security.jwt.secret-key}")
     private String secretKey;
 
+    @Value("${application.security.jwt.key-id:default}")
+    private String keyId;
+
+    /**
+     * Keys that are no longer used for signing but still accepted, as "kid:base64-secret" entries.
+     */
+    @Value("${application.security.jwt.retired-keys:}")
+    private List<String> retiredKeys = List.of();
+
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration;
 
+    private Key signingKey;
+
+    private Map<String, Key> verificationKeys;
+
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        signingKey = toKey(secretKey);
+
+        final Map<String, Key> keys = new HashMap<>();
+        for (String entry : retiredKeys) {
+            if (entry == null || entry.isBlank()) {
+                continue;
+            }
+            final String[] parts = entry.split(":", 2);
+            if (parts.length != 2) {
+                throw new IllegalStateException("Retired JWT key must be formatted as kid:secret");
+            }
+            keys.put(parts[0].trim(), toKey(parts[1].trim()));
+        }
+        keys.put(keyId, signingKey);
+        verificationKeys = Map.copyOf(keys);
+
+        jwtParser = Jwts
+                .parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Parses and verifies the token once; empty when it is malformed, tampered or expired.
+     */
+    public Optional<Claims> validateToken(String token) {
+        try {
+            return Optional.of(extractAllClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -36,10 +104,7 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -53,6 +118,11 @@ public class JwtUtil {
             UserDetails userDetails
     ) {
         extraClaims.put("roles", userDetails.getAuthorities());
+        if (userDetails instanceof User user) {
+            extraClaims.put(CLAIM_USER_ID, user.getId());
+            extraClaims.put(CLAIM_ROLE, user.getRole().name());
+            extraClaims.put(CLAIM_STATUS_VERSION, user.getStatusVersion());
+        }
         return buildToken(extraClaims, userDetails, jwtExpiration);
     }
 
@@ -63,29 +133,42 @@ public class JwtUtil {
     ) {
         return Jwts
                 .builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyId)
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(Date.from(Instant.now().plus(expiration, ChronoUnit.MILLIS)))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return validateToken(token)
+                .map(claims -> isTokenValid(claims, userDetails))
+                .orElse(false);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject() != null
+                && claims.getSubject().equals(userDetails.getUsername())
+                && claims.getExpiration() != null
+                && claims.getExpiration().after(new Date());
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    private Key resolveKey(String kid) {
+        // Tokens issued before key ids were introduced carry no kid and were signed with the current secret.
+        if (kid == null) {
+            return signingKey;
+        }
+        final Key key = verificationKeys.get(kid);
+        if (key == null) {
+            throw new SignatureException("Unknown JWT key id: " + kid);
+        }
+        return key;
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+    private static Key toKey(String secret) {
+        byte[] keyBytes = Decoders.BASE64.decode(secret);
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
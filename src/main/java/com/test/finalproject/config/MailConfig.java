@@ -0,0 +1,26 @@
+package com.test.finalproject.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.List;
+
+@Configuration
+public class MailConfig {
+
+    @Bean
+    public SmtpConnectionPool smtpConnectionPool(
+            JavaMailSenderImpl mailSender,
+            @Value("${application.mail.outbox.concurrency:2}") int concurrency) {
+        return new SmtpConnectionPool(mailSender, concurrency);
+    }
+
+    @Bean
+    public MailTemplates mailTemplates(
+            @Value("${application.mail.languages:en,vi}") List<String> languages,
+            @Value("${application.mail.default-language:en}") String defaultLanguage) {
+        return new MailTemplates(languages, defaultLanguage);
+    }
+}
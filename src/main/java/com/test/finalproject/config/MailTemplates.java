@@ -0,0 +1,130 @@
+package com.test.finalproject.config;
+
+import com.test.finalproject.enums.MailTemplate;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Mail subjects and bodies from {@code mail/templates_<language>.properties}, parsed once at startup
+ * into literal and {@code {{variable}}} segments. Rendering only concatenates into a buffer presized
+ * from the literal length; nothing is cached per thread, which would not survive a virtual thread per
+ * request. A recipient whose language has no variant gets the default language, which must define
+ * every template.
+ */
+public class MailTemplates {
+
+    private static final String LOCATION = "mail/templates_%s.properties";
+
+    private static final int VARIABLE_CAPACITY = 32;
+
+    private final String defaultLanguage;
+
+    private final Map<String, Map<MailTemplate, Compiled>> templates = new HashMap<>();
+
+    public MailTemplates(Collection<String> languages, String defaultLanguage) {
+        this.defaultLanguage = defaultLanguage;
+        final Map<MailTemplate, Compiled> defaults = load(defaultLanguage, null);
+        templates.put(defaultLanguage, defaults);
+        for (String language : languages) {
+            templates.putIfAbsent(language, load(language, defaults));
+        }
+    }
+
+    public SimpleMailMessage render(String to, String locale, MailTemplate template, Map<String, String> model) {
+        final Compiled compiled = templates.get(language(locale)).get(template);
+        final SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(to);
+        message.setSubject(compiled.subject().render(model));
+        message.setText(compiled.body().render(model));
+        return message;
+    }
+
+    /**
+     * Maps a stored locale such as {@code vi} or {@code vi-VN} to a loaded language, else the default.
+     */
+    String language(String locale) {
+        if (locale == null || locale.isBlank()) {
+            return defaultLanguage;
+        }
+        final String language = Locale.forLanguageTag(locale.replace('_', '-')).getLanguage();
+        return templates.containsKey(language) ? language : defaultLanguage;
+    }
+
+    private static Map<MailTemplate, Compiled> load(String language, Map<MailTemplate, Compiled> fallback) {
+        final Properties properties = new Properties();
+        final ClassPathResource resource = new ClassPathResource(LOCATION.formatted(language));
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read mail templates " + resource.getPath(), e);
+        }
+
+        final Map<MailTemplate, Compiled> compiled = new EnumMap<>(MailTemplate.class);
+        for (MailTemplate template : MailTemplate.values()) {
+            final String subject = properties.getProperty(template.getKey() + ".subject");
+            final String body = properties.getProperty(template.getKey() + ".body");
+            if (subject != null && body != null) {
+                compiled.put(template, new Compiled(Segments.parse(subject), Segments.parse(body)));
+            } else if (fallback != null) {
+                compiled.put(template, fallback.get(template));
+            } else {
+                throw new IllegalStateException("Missing mail template " + template.getKey() + " in " + resource.getPath());
+            }
+        }
+        return compiled;
+    }
+
+    private record Compiled(Segments subject, Segments body) {
+    }
+
+    /**
+     * A template split into {@code literals.length} literal parts with one variable between each pair.
+     */
+    private record Segments(String[] literals, String[] variables, int literalLength) {
+
+        static Segments parse(String source) {
+            final List<String> literals = new ArrayList<>();
+            final List<String> variables = new ArrayList<>();
+            int from = 0;
+            int open;
+            while ((open = source.indexOf("{{", from)) >= 0) {
+                final int close = source.indexOf("}}", open + 2);
+                if (close < 0) {
+                    throw new IllegalStateException("Unclosed variable in mail template: " + source);
+                }
+                literals.add(source.substring(from, open));
+                variables.add(source.substring(open + 2, close).trim());
+                from = close + 2;
+            }
+            literals.add(source.substring(from));
+            final int literalLength = literals.stream().mapToInt(String::length).sum();
+            return new Segments(literals.toArray(String[]::new), variables.toArray(String[]::new), literalLength);
+        }
+
+        String render(Map<String, String> model) {
+            final StringBuilder buffer = new StringBuilder(literalLength + variables.length * VARIABLE_CAPACITY);
+            buffer.append(literals[0]);
+            for (int i = 0; i < variables.length; i++) {
+                final String value = model.get(variables[i]);
+                if (value == null) {
+                    throw new IllegalArgumentException("Missing mail template variable " + variables[i]);
+                }
+                buffer.append(value).append(literals[i + 1]);
+            }
+            return buffer.toString();
+        }
+    }
+}
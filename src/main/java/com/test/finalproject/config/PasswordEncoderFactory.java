@@ -0,0 +1,66 @@
+package com.test.finalproject.config;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class PasswordEncoderFactory {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String PBKDF2 = "pbkdf2";
+    public static final String ARGON2 = "argon2";
+
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+    private static final int ARGON2_PARALLELISM = 1;
+
+    /**
+     * Encodes new hashes as {@code {algorithm}hash} with the target parameters while still
+     * matching every supported algorithm. Hashes stored before the prefix was introduced
+     * are plain BCrypt and are matched as such. BCrypt and Argon2 hashes embed their cost, so a
+     * raised cost triggers an upgrade on login; PBKDF2 hashes get their iteration count recorded
+     * by {@link Pbkdf2IterationsPasswordEncoder} for the same purpose.
+     */
+    public static DelegatingPasswordEncoder create(
+            String algorithm,
+            int bcryptStrength,
+            int pbkdf2Iterations,
+            int argon2Memory,
+            int argon2Iterations) {
+        final Map<String, PasswordEncoder> encoders = new HashMap<>();
+        final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(PBKDF2, new Pbkdf2IterationsPasswordEncoder(pbkdf2Iterations, PasswordEncoderFactory::pbkdf2));
+        encoders.put(ARGON2, argon2(argon2Memory, argon2Iterations));
+
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("Unsupported password algorithm: " + algorithm);
+        }
+
+        final DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    public static PasswordEncoder pbkdf2(int iterations) {
+        return new Pbkdf2PasswordEncoder(
+                "",
+                SALT_LENGTH,
+                iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256
+        );
+    }
+
+    public static PasswordEncoder argon2(int memory, int iterations) {
+        return new Argon2PasswordEncoder(SALT_LENGTH, HASH_LENGTH, ARGON2_PARALLELISM, memory, iterations);
+    }
+}
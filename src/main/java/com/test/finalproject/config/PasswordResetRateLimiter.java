@@ -0,0 +1,54 @@
+package com.test.finalproject.config;
+
+import com.test.finalproject.constants.MessageException;
+import com.test.finalproject.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps forgot-password requests per client address and per email. The controller checks it before
+ * calling the transactional service, so a rejected request never takes a database connection.
+ */
+@Component
+public class PasswordResetRateLimiter {
+
+    private final RateLimiter byClient;
+
+    private final RateLimiter byEmail;
+
+    public PasswordResetRateLimiter(
+            @Value("${application.security.reset-token.rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${application.security.reset-token.rate-limit.ip.refill-interval:30000}") long ipRefillInterval,
+            @Value("${application.security.reset-token.rate-limit.email.capacity:3}") int emailCapacity,
+            @Value("${application.security.reset-token.rate-limit.email.refill-interval:300000}") long emailRefillInterval,
+            @Value("${application.security.reset-token.rate-limit.maximum-keys:100000}") long maximumKeys) {
+        this.byClient = new RateLimiter(ipCapacity, Duration.ofMillis(ipRefillInterval), maximumKeys);
+        this.byEmail = new RateLimiter(emailCapacity, Duration.ofMillis(emailRefillInterval), maximumKeys);
+    }
+
+    /**
+     * The form the email is both limited and looked up by.
+     */
+    public static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Expects an email already passed through {@link #normalizeEmail}.
+     */
+    public void check(String email, String clientIp) {
+        reject(byClient.tryAcquire(clientIp));
+        reject(byEmail.tryAcquire(email));
+    }
+
+    private static void reject(long waitNanos) {
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException(MessageException.TOO_MANY_REQUESTS,
+                    TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.test.finalproject.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * PBKDF2 hashes carry no record of their iteration count, so this encoder stores it in front
+ * of the hash as {@code iterations$hash}. That lets {@link #upgradeEncoding} ask for a re-hash
+ * once the configured count is raised. Hashes written before the count was recorded are
+ * matched with the configured count and always reported as needing an upgrade.
+ */
+class Pbkdf2IterationsPasswordEncoder implements PasswordEncoder {
+
+    private static final char SEPARATOR = '$';
+
+    private final int iterations;
+
+    private final IntFunction<PasswordEncoder> encoderFactory;
+
+    private final Map<Integer, PasswordEncoder> encoders = new ConcurrentHashMap<>();
+
+    Pbkdf2IterationsPasswordEncoder(int iterations, IntFunction<PasswordEncoder> encoderFactory) {
+        this.iterations = iterations;
+        this.encoderFactory = encoderFactory;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return iterations + String.valueOf(SEPARATOR) + encoder(iterations).encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        final int separator = encodedPassword.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return encoder(iterations).matches(rawPassword, encodedPassword);
+        }
+        final Integer stored = iterations(encodedPassword, separator);
+        return stored != null && encoder(stored).matches(rawPassword, encodedPassword.substring(separator + 1));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        final int separator = encodedPassword.indexOf(SEPARATOR);
+        final Integer stored = separator < 0 ? null : iterations(encodedPassword, separator);
+        return stored == null || stored < iterations;
+    }
+
+    private PasswordEncoder encoder(int iterations) {
+        return encoders.computeIfAbsent(iterations, encoderFactory::apply);
+    }
+
+    private static Integer iterations(String encodedPassword, int separator) {
+        try {
+            final int stored = Integer.parseInt(encodedPassword, 0, separator, 10);
+            return stored > 0 ? stored : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.test.finalproject.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Per-user bucket, taken right after {@link JwtFilter}. Only a request whose token verified has an
+ * authentication here, so the keys are real usernames and a forged token cannot open a bucket of its own;
+ * such a request was already counted against its client address by {@link RateLimitFilter}.
+ */
+@Component
+public class PrincipalRateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+
+    private final RateLimiter principals;
+
+    private final ObjectMapper objectMapper;
+
+    private final Counter principalRejections;
+
+    public PrincipalRateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.principals = new RateLimiter(
+                properties.principal().capacity(), properties.principal().refillInterval(), properties.maximumKeys());
+        this.objectMapper = objectMapper;
+        this.principalRejections = meterRegistry.counter(RateLimitFilter.REJECTED_METRIC, "reason", "principal");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NotNull HttpServletRequest request) {
+        return !enabled || request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NotNull HttpServletRequest request,
+            @NotNull HttpServletResponse response,
+            @NotNull FilterChain filterChain) throws ServletException, IOException {
+
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            final long wait = principals.tryAcquire(authentication.getName());
+            if (wait > 0) {
+                principalRejections.increment();
+                RateLimitFilter.reject(objectMapper, response, wait);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,145 @@
+package com.test.finalproject.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.finalproject.constants.MessageException;
+import com.test.finalproject.exception.ExceptionRes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of authentication. A request must take a token from the bucket of the
+ * first route it matches and from its client address's bucket, then a slot in the global in-flight limit.
+ * Anything refused is answered at once with 429 and {@code Retry-After}, before it can hold a Tomcat
+ * thread or a database connection. Rejections are counted in {@code http.server.requests.rejected{reason}}.
+ * <p>
+ * Nothing here trusts the {@code Authorization} header: the token is only verified later by {@link JwtFilter},
+ * so keying on it would let a caller mint a fresh bucket per forged token. The per-user bucket is applied
+ * after verification by {@link PrincipalRateLimitFilter}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String REJECTED_METRIC = "http.server.requests.rejected";
+
+    private final boolean enabled;
+
+    private final List<RouteLimit> routes;
+
+    private final RateLimiter clients;
+
+    private final Semaphore inFlight;
+
+    private final ObjectMapper objectMapper;
+
+    private final Counter routeRejections;
+
+    private final Counter clientRejections;
+
+    private final Counter concurrencyRejections;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        final long now = System.nanoTime();
+        this.enabled = properties.enabled();
+        this.routes = properties.routes().stream()
+                .map(route -> new RouteLimit(
+                        route.method(),
+                        PathPatternParser.defaultInstance.parse(route.pattern()),
+                        new TokenBucket(route.capacity(), route.refillInterval().toNanos(), now)))
+                .toList();
+        this.clients = new RateLimiter(
+                properties.client().capacity(), properties.client().refillInterval(), properties.maximumKeys());
+        this.inFlight = new Semaphore(properties.maxConcurrentRequests());
+        this.objectMapper = objectMapper;
+        this.routeRejections = meterRegistry.counter(REJECTED_METRIC, "reason", "route");
+        this.clientRejections = meterRegistry.counter(REJECTED_METRIC, "reason", "client");
+        this.concurrencyRejections = meterRegistry.counter(REJECTED_METRIC, "reason", "concurrency");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NotNull HttpServletRequest request) {
+        return !enabled || request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NotNull HttpServletRequest request,
+            @NotNull HttpServletResponse response,
+            @NotNull FilterChain filterChain) throws ServletException, IOException {
+
+        final RouteLimit route = route(request);
+        if (route != null) {
+            final long wait = route.bucket().tryAcquire(System.nanoTime());
+            if (wait > 0) {
+                routeRejections.increment();
+                reject(response, wait);
+                return;
+            }
+        }
+
+        final long wait = clients.tryAcquire(request.getRemoteAddr());
+        if (wait > 0) {
+            clientRejections.increment();
+            reject(response, wait);
+            return;
+        }
+
+        if (!inFlight.tryAcquire()) {
+            concurrencyRejections.increment();
+            reject(response, TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private RouteLimit route(HttpServletRequest request) {
+        if (routes.isEmpty()) {
+            return null;
+        }
+        final PathContainer path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        for (RouteLimit route : routes) {
+            if ((route.method() == null || route.method().equalsIgnoreCase(request.getMethod()))
+                    && route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        reject(objectMapper, response, waitNanos);
+    }
+
+    static void reject(ObjectMapper objectMapper, HttpServletResponse response, long waitNanos) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ExceptionRes(String.valueOf(HttpStatus.TOO_MANY_REQUESTS.value()), MessageException.TOO_MANY_REQUESTS));
+    }
+
+    private record RouteLimit(String method, PathPattern pattern, TokenBucket bucket) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.test.finalproject.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Admission control for {@link RateLimitFilter} and {@link PrincipalRateLimitFilter}. A route bucket is
+ * shared by every caller of that route; a client bucket is per remote address and taken before the token
+ * is verified; a principal bucket is per authenticated user and taken only once the token has verified.
+ */
+@ConfigurationProperties(prefix = "application.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100") int maxConcurrentRequests,
+        @DefaultValue("100000") long maximumKeys,
+        @DefaultValue Bucket client,
+        @DefaultValue Bucket principal,
+        @DefaultValue List<Route> routes
+) {
+
+    public record Bucket(
+            @DefaultValue("100") int capacity,
+            @DefaultValue("20ms") Duration refillInterval
+    ) {
+    }
+
+    /**
+     * {@code method} may be left out to match every method. {@code pattern} is a Spring path pattern.
+     */
+    public record Route(
+            String method,
+            String pattern,
+            int capacity,
+            Duration refillInterval
+    ) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.test.finalproject.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * One {@link TokenBucket} per key, held in a bounded cache. A bucket is evicted once it has been idle
+ * long enough to refill completely, so eviction never hands out more than the configured rate.
+ */
+public class RateLimiter {
+
+    private final int capacity;
+
+    private final long refillNanos;
+
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimiter(int capacity, Duration refillInterval, long maximumKeys) {
+        this.capacity = capacity;
+        this.refillNanos = refillInterval.toNanos();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(refillInterval.multipliedBy(capacity))
+                .build();
+    }
+
+    /**
+     * Takes a token for {@code key} and returns 0, or returns the nanoseconds to wait for the next one.
+     */
+    public long tryAcquire(String key) {
+        final long now = System.nanoTime();
+        return buckets.get(key, k -> new TokenBucket(capacity, refillNanos, now)).tryAcquire(now);
+    }
+}
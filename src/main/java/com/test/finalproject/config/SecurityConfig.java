@@ -2,6 +2,7 @@ package com.test.finalproject.config;
 
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
@@ -19,6 +20,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @RequiredArgsConstructor
 @EnableWebSecurity
 @EnableMethodSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     private static final String[] AUTH_WHITELIST = {
@@ -42,6 +44,10 @@ public class SecurityConfig {
 
     private final JwtFilter jwtFilter;
 
+    private final RateLimitFilter rateLimitFilter;
+
+    private final PrincipalRateLimitFilter principalRateLimitFilter;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -50,7 +56,9 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authorizeHttpRequests(auth ->
-                        auth.requestMatchers(AUTH_WHITELIST)
+                        auth.requestMatchers("/actuator/**")
+                                .hasRole("ADMIN")
+                                .requestMatchers(AUTH_WHITELIST)
                                 .permitAll()
                                 .anyRequest()
                                 .authenticated()
@@ -61,7 +69,9 @@ public class SecurityConfig {
                                 .authenticationEntryPoint(
                                         new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)
                                 ))
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, JwtFilter.class)
+                .addFilterAfter(principalRateLimitFilter, JwtFilter.class);
         return http.build();
     }
 
@@ -0,0 +1,81 @@
+package com.test.finalproject.config;
+
+import com.test.finalproject.constants.MessageException;
+import com.test.finalproject.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+
+/**
+ * Puts the database-bound services behind one {@link AdaptiveConcurrencyLimiter}, each service method judged
+ * against its own latency baseline. It is ordered ahead of the transaction interceptor, so a call over the
+ * limit is refused with 503 before it asks Hikari for a connection. The limit is published as {@code service.concurrency.limit}, calls in progress as
+ * {@code service.concurrency.in-flight} and refusals as {@code service.concurrency.rejected}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "application.concurrency-limit", name = "enabled", matchIfMissing = true)
+public class ServiceConcurrencyAspect {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    private final Counter rejected;
+
+    private final long retryAfterSeconds;
+
+    public ServiceConcurrencyAspect(
+            MeterRegistry meterRegistry,
+            @Value("${application.concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${application.concurrency-limit.min-limit:4}") int minLimit,
+            @Value("${application.concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${application.concurrency-limit.latency-threshold:250ms}") Duration latencyThreshold,
+            @Value("${application.concurrency-limit.latency-tolerance:2.0}") double latencyTolerance,
+            @Value("${application.concurrency-limit.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${application.concurrency-limit.backoff-window:1s}") Duration backoffWindow,
+            @Value("${application.concurrency-limit.retry-after:1}") long retryAfterSeconds) {
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, latencyThreshold.toNanos(),
+                latencyTolerance, backoffRatio, backoffWindow.toNanos());
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.rejected = meterRegistry.counter("service.concurrency.rejected");
+        Gauge.builder("service.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit).register(meterRegistry);
+        Gauge.builder("service.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight).register(meterRegistry);
+    }
+
+    @Around("within(com.test.finalproject.service.impl.TaskServiceImpl)"
+            + " || within(com.test.finalproject.service.impl.TaskDetailServiceImpl)"
+            + " || within(com.test.finalproject.service.impl.UserServiceImpl)")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!limiter.tryAcquire()) {
+            rejected.increment();
+            throw new ServiceUnavailableException(MessageException.SERVICE_BUSY, retryAfterSeconds);
+        }
+
+        final long start = System.nanoTime();
+        boolean overloaded = false;
+        try {
+            return joinPoint.proceed();
+        } catch (CannotCreateTransactionException | CannotGetJdbcConnectionException
+                 | QueryTimeoutException | TransientDataAccessResourceException e) {
+            overloaded = true;
+            throw e;
+        } finally {
+            limiter.release(((MethodSignature) joinPoint.getSignature()).getMethod(), System.nanoTime() - start, overloaded);
+        }
+    }
+}
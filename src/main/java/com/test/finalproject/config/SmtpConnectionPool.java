@@ -0,0 +1,144 @@
+package com.test.finalproject.config;
+
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Keeps up to {@code size} SMTP connections open between sends, so a batch pays for the
+ * TCP handshake, STARTTLS and AUTH once per connection instead of once per call. Each send
+ * borrows one connection, checks it is still alive and reconnects when the server dropped it.
+ * Failures are reported like {@link JavaMailSenderImpl}: a {@link MailSendException} whose
+ * failed messages are keyed by the {@link SimpleMailMessage} passed in.
+ */
+@Slf4j
+public class SmtpConnectionPool implements DisposableBean {
+
+    private final JavaMailSenderImpl mailSender;
+
+    private final BlockingQueue<Transport> idle;
+
+    private final Semaphore permits;
+
+    public SmtpConnectionPool(JavaMailSenderImpl mailSender, int size) {
+        this.mailSender = mailSender;
+        this.idle = new ArrayBlockingQueue<>(size);
+        this.permits = new Semaphore(size);
+    }
+
+    public void send(SimpleMailMessage... messages) throws MailException {
+        if (messages.length == 0) {
+            return;
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for an SMTP connection", e);
+        }
+
+        Transport transport = idle.poll();
+        try {
+            transport = ensureConnected(transport);
+            final Map<Object, Exception> failed = new LinkedHashMap<>();
+
+            for (int i = 0; i < messages.length; i++) {
+                try {
+                    final MimeMessage mimeMessage = toMimeMessage(messages[i]);
+                    transport.sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+                } catch (MessagingException | MailException e) {
+                    failed.put(messages[i], e);
+                    try {
+                        transport = ensureConnected(transport);
+                    } catch (MailException reconnect) {
+                        for (int j = i + 1; j < messages.length; j++) {
+                            failed.put(messages[j], reconnect);
+                        }
+                        break;
+                    }
+                }
+            }
+
+            if (!failed.isEmpty()) {
+                throw new MailSendException(failed);
+            }
+        } finally {
+            if (transport != null && !idle.offer(transport)) {
+                close(transport);
+            }
+            permits.release();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            close(transport);
+        }
+    }
+
+    /**
+     * Returns a connected transport, reusing {@code transport} when it still answers. For SMTP,
+     * {@link Transport#isConnected()} sends a NOOP, so a connection the server timed out is caught here.
+     */
+    private Transport ensureConnected(Transport transport) {
+        if (transport != null && transport.isConnected()) {
+            return transport;
+        }
+        if (transport != null) {
+            close(transport);
+        }
+        try {
+            final Transport connected = mailSender.getSession().getTransport(protocol());
+            connected.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+            return connected;
+        } catch (AuthenticationFailedException e) {
+            throw new MailAuthenticationException(e);
+        } catch (MessagingException e) {
+            throw new MailSendException("Mail server connection failed", e);
+        }
+    }
+
+    private String protocol() {
+        if (mailSender.getProtocol() != null) {
+            return mailSender.getProtocol();
+        }
+        final String configured = mailSender.getSession().getProperty("mail.transport.protocol");
+        return configured != null ? configured : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+    }
+
+    private MimeMessage toMimeMessage(SimpleMailMessage message) throws MessagingException {
+        final MimeMessage mimeMessage = mailSender.createMimeMessage();
+        message.copyTo(new MimeMailMessage(mimeMessage));
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        mimeMessage.saveChanges();
+        return mimeMessage;
+    }
+
+    private static void close(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP connection", e);
+        }
+    }
+}
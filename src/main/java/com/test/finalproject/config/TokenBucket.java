@@ -0,0 +1,39 @@
+package com.test.finalproject.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket of {@code capacity} tokens refilled one per {@code refillNanos}, kept as a single
+ * "theoretical arrival time" (GCRA) so acquiring is one CAS on an {@link AtomicLong} with no lock.
+ */
+public class TokenBucket {
+
+    private final long refillNanos;
+
+    private final long burstNanos;
+
+    private final AtomicLong arrival;
+
+    public TokenBucket(int capacity, long refillNanos, long nowNanos) {
+        this.refillNanos = refillNanos;
+        this.burstNanos = (capacity - 1) * refillNanos;
+        this.arrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token and returns 0, or returns how many nanoseconds until one is available.
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            final long current = arrival.get();
+            final long start = Math.max(current, nowNanos);
+            final long wait = start - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, start + refillNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.test.finalproject.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier, typically by blocking inside a
+ * {@code synchronized} block or a native frame. It streams the JFR {@code jdk.VirtualThreadPinned}
+ * event in process, counts every pin longer than {@code threshold} as {@code jvm.threads.virtual.pinned}
+ * and logs the stack of each distinct pinning site once, so a hot site does not flood the log.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled")
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int MAX_REPORTED_SITES = 256;
+
+    private final Counter pinned;
+
+    private final Duration threshold;
+
+    private final int stackDepth;
+
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${application.virtual-threads.pinning.threshold:20ms}") Duration threshold,
+            @Value("${application.virtual-threads.pinning.stack-depth:12}") int stackDepth) {
+        this.pinned = meterRegistry.counter("jvm.threads.virtual.pinned");
+        this.threshold = threshold;
+        this.stackDepth = stackDepth;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * Records one pin; returns whether its site was logged.
+     */
+    boolean record(Duration duration, List<String> frames) {
+        pinned.increment();
+        final String site = frames.isEmpty() ? "<unknown>" : frames.get(0);
+        if (reportedSites.size() >= MAX_REPORTED_SITES || !reportedSites.add(site)) {
+            return false;
+        }
+        log.warn("Virtual thread pinned for {} ms at {}{}", duration.toMillis(), site,
+                frames.stream().skip(1).map(frame -> "\n\tat " + frame).collect(Collectors.joining()));
+        return true;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        final RecordedStackTrace stackTrace = event.getStackTrace();
+        final List<String> frames = stackTrace == null ? List.of() : stackTrace.getFrames().stream()
+                .limit(stackDepth)
+                .map(VirtualThreadPinningMonitor::describe)
+                .toList();
+        record(event.getDuration(), frames);
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
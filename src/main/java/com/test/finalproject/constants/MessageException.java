@@ -21,8 +21,18 @@ public class MessageException {
     public static final String INVALID_PASSWORD_NEW = "Password New Invalid!";
     public static final String REQUIRED_FIRST_NAME = "First Name Is Required!";
     public static final String REQUIRED_LAST_NAME = "Last Name Is Required!";
+    public static final String INVALID_LOCALE = "Locale Invalid!";
     public static final String REQUIRED_NAME = "Name Is Required!";
     public static final String REQUIRED_USER_ID = "User ID Is Required!";
     public static final String REQUIRED_TASK_ID = "Task ID Is Required!";
     public static final String REQUIRED_TOKEN = "Token Is Required!";
+    public static final String INVALID_SORT = "Sort Property Invalid!";
+    public static final String INVALID_CURSOR = "Cursor Invalid!";
+    public static final String INVALID_FIELDS = "Fields Invalid!";
+    public static final String INVALID_EXPAND = "Expand Invalid!";
+    public static final String SERVICE_BUSY = "Service Is Busy, Please Retry Later!";
+    public static final String TOO_MANY_REQUESTS = "Too Many Requests, Please Retry Later!";
+    public static final String INVALID_BATCH_SIZE = "Batch Must Contain Between 1 And 5000 Items!";
+    public static final String INVALID_TASK_DETAIL_BATCH_SIZE = "Task Details Must Contain At Most 500 Items!";
+    public static final String INVALID_IDS_SIZE = "Ids Must Contain Between 1 And 1000 Items!";
 }
@@ -1,8 +1,10 @@
 package com.test.finalproject.controller;
 
+import com.test.finalproject.config.PasswordResetRateLimiter;
 import com.test.finalproject.constants.ApiEndpoints;
 import com.test.finalproject.model.dtos.auth.*;
 import com.test.finalproject.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -15,6 +17,8 @@ public class AuthController {
 
     private final AuthService authService;
 
+    private final PasswordResetRateLimiter resetRateLimiter;
+
     @PostMapping(ApiEndpoints.ACC_V1 + "/login")
     public AuthRes login(@RequestBody @Valid AuthReq authReq) {
         return authService.login(authReq);
@@ -28,8 +32,10 @@ public class AuthController {
 
     @PostMapping(ApiEndpoints.ACC_V1 + "/forget-password/request")
     @ResponseStatus(HttpStatus.CREATED)
-    public void createPasswordRestToken(@RequestParam(name = "email") String email) {
-        authService.requestForgotPassword(email);
+    public void createPasswordRestToken(@RequestParam(name = "email") String email, HttpServletRequest request) {
+        final String normalizedEmail = PasswordResetRateLimiter.normalizeEmail(email);
+        resetRateLimiter.check(normalizedEmail, request.getRemoteAddr());
+        authService.requestForgotPassword(normalizedEmail);
     }
 
     @PatchMapping(ApiEndpoints.ACC_V1 +"/forget-password")
@@ -1,25 +1,59 @@
 package com.test.finalproject.controller;
 
+import com.test.finalproject.config.FieldSelection;
+import com.test.finalproject.config.JacksonConfig;
 import com.test.finalproject.constants.ApiEndpoints;
+import com.test.finalproject.model.dtos.common.CursorRes;
+import com.test.finalproject.model.dtos.common.PageRes;
+import com.test.finalproject.model.dtos.task.TaskBatchReq;
+import com.test.finalproject.model.dtos.task.TaskBatchRes;
+import com.test.finalproject.model.dtos.task.TaskCompleteRes;
+import com.test.finalproject.model.dtos.task.TaskFilter;
+import com.test.finalproject.model.dtos.task.TaskIdsReq;
 import com.test.finalproject.model.dtos.task.TaskReq;
 import com.test.finalproject.model.dtos.task.TaskRes;
 import com.test.finalproject.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(ApiEndpoints.PREFIX)
 public class TaskController {
+    private static final Set<String> TASK_EXPANSIONS = Set.of(TaskRes.EXPAND_TASK_DETAILS);
+
     private final TaskService taskService;
 
     @GetMapping(ApiEndpoints.TASK_V1)
-    public List<TaskRes> getAllTasks(){
-        return taskService.getTasks();
+    public MappingJacksonValue getAllTasks(
+            @ParameterObject TaskFilter filter,
+            @ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable,
+            @RequestParam(name = "fields", required = false) Set<String> fields,
+            @RequestParam(name = "expand", required = false) Set<String> expand){
+        final Set<String> expansions = FieldSelection.expand(expand, TASK_EXPANSIONS);
+        final boolean withDetails = expansions.contains(TaskRes.EXPAND_TASK_DETAILS);
+        final PageRes<TaskRes> tasks = taskService.getTasks(filter, pageable, withDetails);
+        return FieldSelection.filter(tasks, JacksonConfig.TASK_FILTER, TaskRes.class, fields, expansions);
+    }
+
+    @GetMapping(ApiEndpoints.TASK_V1 + "/cursor")
+    public MappingJacksonValue getTasksByCursor(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "500") int size,
+            @RequestParam(name = "fields", required = false) Set<String> fields,
+            @RequestParam(name = "expand", required = false) Set<String> expand){
+        final Set<String> expansions = FieldSelection.expand(expand, TASK_EXPANSIONS);
+        final boolean withDetails = expansions.contains(TaskRes.EXPAND_TASK_DETAILS);
+        final CursorRes<TaskRes> tasks = taskService.getTasksAfter(cursor, size, withDetails);
+        return FieldSelection.filter(tasks, JacksonConfig.TASK_FILTER, TaskRes.class, fields, expansions);
     }
 
     @GetMapping(ApiEndpoints.TASK_V1 + "/{id}")
@@ -33,6 +67,11 @@ public class TaskController {
         return taskService.addTask(taskReq);
     }
 
+    @PostMapping(ApiEndpoints.TASK_V1 + ":batch")
+    public TaskBatchRes createTasks(@RequestBody @Valid TaskBatchReq req){
+        return taskService.addTasks(req);
+    }
+
     @PutMapping(ApiEndpoints.TASK_V1 + "/{id}")
     @ResponseStatus(HttpStatus.ACCEPTED)
     public TaskRes updateTask(
@@ -48,6 +87,11 @@ public class TaskController {
     }
 
 
+    @PatchMapping(ApiEndpoints.TASK_V1 + ":complete")
+    public TaskCompleteRes completeTasks(@RequestBody @Valid TaskIdsReq req){
+        return taskService.completeTasks(req);
+    }
+
     @DeleteMapping(ApiEndpoints.TASK_V1 + "/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteTask(@PathVariable int id){
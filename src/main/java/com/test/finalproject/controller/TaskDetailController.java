@@ -1,6 +1,7 @@
 package com.test.finalproject.controller;
 
 import com.test.finalproject.constants.ApiEndpoints;
+import com.test.finalproject.model.dtos.taskDetail.TaskDetailBatchReq;
 import com.test.finalproject.model.dtos.taskDetail.TaskDetailReq;
 import com.test.finalproject.model.dtos.taskDetail.TaskDetailRes;
 import com.test.finalproject.service.TaskDetailService;
@@ -9,6 +10,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(ApiEndpoints.PREFIX)
@@ -34,4 +37,17 @@ public class TaskDetailController {
     public void deleteTaskDetail(@PathVariable int id) {
         taskDetailService.deleteTaskDetail(id);
     }
+
+    @PutMapping(ApiEndpoints.TASK_V1 + "/{taskId}/taskDetails")
+    public List<TaskDetailRes> replaceTaskDetails(@PathVariable int taskId,
+                                                  @RequestBody @Valid TaskDetailBatchReq req) {
+        return taskDetailService.replaceTaskDetails(taskId, req);
+    }
+
+    @PostMapping(ApiEndpoints.TASK_V1 + "/{taskId}/taskDetails")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<TaskDetailRes> appendTaskDetails(@PathVariable int taskId,
+                                                 @RequestBody @Valid TaskDetailBatchReq req) {
+        return taskDetailService.appendTaskDetails(taskId, req);
+    }
 }
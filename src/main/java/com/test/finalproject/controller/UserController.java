@@ -1,15 +1,23 @@
 package com.test.finalproject.controller;
 
+import com.test.finalproject.config.FieldSelection;
+import com.test.finalproject.config.JacksonConfig;
 import com.test.finalproject.constants.ApiEndpoints;
+import com.test.finalproject.enums.AccountStatus;
 import com.test.finalproject.enums.RoleName;
+import com.test.finalproject.model.dtos.user.UserIdsReq;
 import com.test.finalproject.model.dtos.user.UserRes;
+import com.test.finalproject.model.dtos.user.UserStatusRes;
 import com.test.finalproject.service.UserService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequiredArgsConstructor
@@ -17,15 +25,34 @@ import java.util.List;
 @PreAuthorize("hasRole('ADMIN')")
 public class UserController {
 
+    private static final Set<String> USER_EXPANSIONS = Set.of(UserRes.EXPAND_TASKS, UserRes.EXPAND_TASK_DETAILS);
+
     private final UserService userService;
 
     @GetMapping(ApiEndpoints.USER_V1)
-    public List<UserRes> getAllUsers() {
-        return userService.getAllUsers();
+    public MappingJacksonValue getAllUsers(
+            @RequestParam(name = "fields", required = false) Set<String> fields,
+            @RequestParam(name = "expand", required = false) Set<String> expand) {
+        final Set<String> expansions = FieldSelection.expand(expand, USER_EXPANSIONS);
+        final boolean withTaskDetails = expansions.contains(UserRes.EXPAND_TASK_DETAILS);
+        final boolean withTasks = withTaskDetails || expansions.contains(UserRes.EXPAND_TASKS);
+
+        final List<UserRes> users = userService.getAllUsers(withTasks, withTaskDetails);
+        return FieldSelection.filter(users, JacksonConfig.USER_FILTER, UserRes.class, fields, expansions);
     }
 
     @PatchMapping(ApiEndpoints.USER_V1 + "/{id}/lock")
     public UserRes lockUser(@PathVariable int id) {
         return userService.updateUserLock(id);
     }
+
+    @PatchMapping(ApiEndpoints.USER_V1 + ":lock")
+    public UserStatusRes lockUsers(@RequestBody @Valid UserIdsReq req) {
+        return userService.updateUsersStatus(req.getIds(), AccountStatus.LOCKED);
+    }
+
+    @PatchMapping(ApiEndpoints.USER_V1 + ":unlock")
+    public UserStatusRes unlockUsers(@RequestBody @Valid UserIdsReq req) {
+        return userService.updateUsersStatus(req.getIds(), AccountStatus.ACTIVE);
+    }
 }
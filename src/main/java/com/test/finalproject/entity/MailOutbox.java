@@ -0,0 +1,48 @@
+package com.test.finalproject.entity;
+
+import com.test.finalproject.enums.MailStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.sql.Timestamp;
+
+/**
+ * A mail waiting to be sent. Rows are written in the caller's transaction, so a mail exists
+ * exactly when the change that triggered it committed, and are delivered by the outbox dispatcher.
+ */
+@Entity
+@Table
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+@Builder
+public class MailOutbox extends BaseEntity implements Serializable {
+
+    public static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    private String subject;
+
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    @Column(nullable = false)
+    private MailStatus status;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private Timestamp nextAttemptTime;
+
+    private Timestamp sentTime;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+}
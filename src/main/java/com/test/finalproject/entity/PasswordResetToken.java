@@ -0,0 +1,52 @@
+package com.test.finalproject.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.util.HexFormat;
+
+/**
+ * A password reset code. Only the SHA-256 of the code is stored, so the unique index
+ * answers a lookup in one probe and a leaked table does not reveal usable codes.
+ */
+@Entity
+@Table
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+@Builder
+public class PasswordResetToken extends BaseEntity implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private Timestamp expiryDate;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "userId", referencedColumnName = "id")
+    private User user;
+
+    public boolean isExpired() {
+        return new Timestamp(System.currentTimeMillis()).after(this.expiryDate);
+    }
+
+    public static String hash(String token) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
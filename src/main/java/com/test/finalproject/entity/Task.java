@@ -3,6 +3,7 @@ package com.test.finalproject.entity;
 import com.test.finalproject.enums.ProgressStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.io.Serializable;
 import java.sql.Date;
@@ -26,9 +27,10 @@ public class Task extends BaseEntity implements Serializable {
     private ProgressStatus status;
 
     @OneToMany(mappedBy = "task",fetch = FetchType.LAZY,cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     private List<TaskDetail> taskDetails;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "userId",referencedColumnName = "id")
     private User user;
 }
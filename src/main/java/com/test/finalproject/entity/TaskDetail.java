@@ -19,7 +19,7 @@ public class TaskDetail extends BaseEntity implements Serializable {
 
     private String name;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "taskId")
     private Task task;
 
@@ -4,12 +4,12 @@ import com.test.finalproject.enums.AccountStatus;
 import com.test.finalproject.enums.RoleName;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.io.Serializable;
-import java.sql.Timestamp;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -37,16 +37,19 @@ public class User extends BaseEntity implements Serializable, UserDetails {
     @Column(unique = true, nullable = false)
     private String email;
 
-    private String token;
+    private AccountStatus status;
 
-    private Timestamp expiryDate;
+    @Column(nullable = false)
+    private int statusVersion;
 
-    private AccountStatus status;
+    @Column(length = 16)
+    private String locale;
 
     @Enumerated(EnumType.STRING)
     private RoleName role;
 
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY, cascade = CascadeType.ALL,orphanRemoval = true)
+    @BatchSize(size = 100)
     private List<Task> tasks;
 
     @Override
@@ -73,8 +76,4 @@ public class User extends BaseEntity implements Serializable, UserDetails {
     public boolean isEnabled() {
         return true;
     }
-
-    public boolean isTokenExpired() {
-        return new Timestamp(System.currentTimeMillis()).after(this.expiryDate);
-    }
 }
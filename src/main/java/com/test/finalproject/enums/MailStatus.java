@@ -0,0 +1,5 @@
+package com.test.finalproject.enums;
+
+public enum MailStatus {
+    PENDING, SENT, FAILED
+}
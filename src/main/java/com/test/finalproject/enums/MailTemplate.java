@@ -0,0 +1,18 @@
+package com.test.finalproject.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Mail templates, keyed by their prefix in {@code mail/templates_<language>.properties}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum MailTemplate {
+    VERIFICATION_CODE("verification-code"),
+    PASSWORD_RESET("password-reset"),
+    ACCOUNT_LOCKED("account-locked"),
+    ACCOUNT_UNLOCKED("account-unlocked");
+
+    private final String key;
+}
@@ -0,0 +1,18 @@
+package com.test.finalproject.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ServiceUnavailableException extends CustomException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String code, String message, long retryAfterSeconds) {
+        super(code, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        this("503", message, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,18 @@
+package com.test.finalproject.exception;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsException extends CustomException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String code, String message, long retryAfterSeconds) {
+        super(code, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        this("429", message, retryAfterSeconds);
+    }
+}
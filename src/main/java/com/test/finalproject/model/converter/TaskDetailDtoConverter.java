@@ -3,8 +3,12 @@ package com.test.finalproject.model.converter;
 import com.test.finalproject.entity.TaskDetail;
 import com.test.finalproject.model.dtos.taskDetail.TaskDetailReq;
 import com.test.finalproject.model.dtos.taskDetail.TaskDetailRes;
+import com.test.finalproject.model.projection.TaskDetailRow;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class TaskDetailDtoConverter {
 
@@ -22,6 +26,29 @@ public class TaskDetailDtoConverter {
         );
     }
 
+    public static TaskDetailRes toResponse(TaskDetailRow row) {
+        return new TaskDetailRes(
+                row.id(),
+                row.name()
+        );
+    }
+
+    public static List<TaskDetailRes> toModelList(List<Integer> ids, List<String> names) {
+        final List<TaskDetailRes> details = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            details.add(new TaskDetailRes(ids.get(i), names.get(i)));
+        }
+        return details;
+    }
+
+    public static Map<Integer, List<TaskDetailRes>> groupByTask(List<TaskDetailRow> rows) {
+        return rows.stream()
+                .collect(Collectors.groupingBy(
+                        TaskDetailRow::taskId,
+                        Collectors.mapping(TaskDetailDtoConverter::toResponse, Collectors.toList())
+                ));
+    }
+
     public static List<TaskDetail> toListEntity(List<TaskDetailReq> taskDetail) {
         return taskDetail.stream()
                 .map(TaskDetailDtoConverter::toEntity)
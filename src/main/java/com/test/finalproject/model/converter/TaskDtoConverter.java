@@ -4,9 +4,13 @@ import com.test.finalproject.entity.Task;
 import com.test.finalproject.entity.User;
 import com.test.finalproject.model.dtos.task.TaskReq;
 import com.test.finalproject.model.dtos.task.TaskRes;
+import com.test.finalproject.model.dtos.taskDetail.TaskDetailRes;
+import com.test.finalproject.model.projection.TaskDetailRow;
+import com.test.finalproject.model.projection.TaskRow;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class TaskDtoConverter {
 
@@ -26,6 +30,32 @@ public class TaskDtoConverter {
         );
     }
 
+    /**
+     * Task details are left out of the responses when {@code detailRows} is null.
+     */
+    public static List<TaskRes> toModelList(List<TaskRow> rows, List<TaskDetailRow> detailRows) {
+        if (detailRows == null) {
+            return rows.stream()
+                    .map(row -> toResponse(row, null))
+                    .toList();
+        }
+        final Map<Integer, List<TaskDetailRes>> detailsByTask = TaskDetailDtoConverter.groupByTask(detailRows);
+
+        return rows.stream()
+                .map(row -> toResponse(row, detailsByTask.getOrDefault(row.id(), Collections.emptyList())))
+                .toList();
+    }
+
+    public static TaskRes toResponse(TaskRow row, List<TaskDetailRes> taskDetails) {
+        return new TaskRes(
+                row.id(),
+                row.name(),
+                row.completeDate(),
+                row.status(),
+                taskDetails
+        );
+    }
+
     public static Task toEntity(TaskReq req) {
         return Task.builder()
                 .name(req.getName())
@@ -2,10 +2,17 @@ package com.test.finalproject.model.converter;
 
 import com.test.finalproject.entity.User;
 import com.test.finalproject.model.dtos.auth.RegisterReq;
+import com.test.finalproject.model.dtos.task.TaskRes;
+import com.test.finalproject.model.dtos.taskDetail.TaskDetailRes;
 import com.test.finalproject.model.dtos.user.UserRes;
+import com.test.finalproject.model.projection.TaskDetailRow;
+import com.test.finalproject.model.projection.TaskRow;
+import com.test.finalproject.model.projection.UserRow;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class UserDtoConverter {
 
@@ -28,12 +35,69 @@ public class UserDtoConverter {
         );
     }
 
+    /**
+     * Top-level fields only; the user's tasks are not touched.
+     */
+    public static UserRes toSummary(User user) {
+        return new UserRes(
+                user.getId(),
+                user.getUsername(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getEmail(),
+                user.getRole(),
+                user.getStatus(),
+                null
+        );
+    }
+
+    /**
+     * Tasks, or only their details, are left out of the responses when the matching rows are null.
+     */
+    public static List<UserRes> toModelList(
+            List<UserRow> rows,
+            List<TaskRow> taskRows,
+            List<TaskDetailRow> detailRows) {
+        if (taskRows == null) {
+            return rows.stream()
+                    .map(row -> toResponse(row, null))
+                    .toList();
+        }
+        final Map<Integer, List<TaskRow>> tasksByUser = taskRows.stream()
+                .collect(Collectors.groupingBy(TaskRow::userId));
+        final Map<Integer, List<TaskDetailRes>> detailsByTask = detailRows != null
+                ? TaskDetailDtoConverter.groupByTask(detailRows)
+                : null;
+
+        return rows.stream()
+                .map(row -> toResponse(row, tasksByUser.getOrDefault(row.id(), Collections.emptyList()).stream()
+                        .map(task -> TaskDtoConverter.toResponse(task, detailsByTask != null
+                                ? detailsByTask.getOrDefault(task.id(), Collections.emptyList())
+                                : null))
+                        .toList()))
+                .toList();
+    }
+
+    public static UserRes toResponse(UserRow row, List<TaskRes> tasks) {
+        return new UserRes(
+                row.id(),
+                row.username(),
+                row.firstName(),
+                row.lastName(),
+                row.email(),
+                row.role(),
+                row.status(),
+                tasks
+        );
+    }
+
     public static User toEntity(RegisterReq req) {
         return User.builder()
                 .username(req.getUsername())
                 .firstName(req.getFirstName())
                 .lastName(req.getLastName())
                 .email(req.getEmail())
+                .locale(req.getLocale())
                 .build();
     }
 }
@@ -31,4 +31,7 @@ public class RegisterReq implements Serializable {
 
     @NotBlank(message = MessageException.REQUIRED_LAST_NAME)
     private String lastName;
+
+    @Pattern(regexp = "^[a-zA-Z]{2,3}([-_][a-zA-Z0-9]{2,8})?$", message = MessageException.INVALID_LOCALE)
+    private String locale;
 }
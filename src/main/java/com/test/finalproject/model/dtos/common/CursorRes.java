@@ -0,0 +1,9 @@
+package com.test.finalproject.model.dtos.common;
+
+import java.util.List;
+
+public record CursorRes<T>(
+        List<T> content,
+        String nextCursor
+) {
+}
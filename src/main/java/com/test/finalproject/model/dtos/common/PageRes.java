@@ -0,0 +1,24 @@
+package com.test.finalproject.model.dtos.common;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public record PageRes<T>(
+        List<T> content,
+        int page,
+        int size,
+        boolean hasNext,
+        Long totalElements
+) {
+
+    public static <T> PageRes<T> of(Slice<?> slice, List<T> content, Long totalElements) {
+        return new PageRes<>(
+                content,
+                slice.getNumber(),
+                slice.getSize(),
+                slice.hasNext(),
+                totalElements
+        );
+    }
+}
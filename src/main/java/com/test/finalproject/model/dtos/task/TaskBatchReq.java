@@ -0,0 +1,24 @@
+package com.test.finalproject.model.dtos.task;
+
+import com.test.finalproject.constants.MessageException;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter @Setter @Builder
+public class TaskBatchReq {
+
+    public static final int MAX_SIZE = 5000;
+
+    /**
+     * Items are validated one by one so that a bad item is reported without failing the whole batch.
+     */
+    @NotEmpty(message = MessageException.INVALID_BATCH_SIZE)
+    @Size(max = MAX_SIZE, message = MessageException.INVALID_BATCH_SIZE)
+    private List<TaskReq> tasks;
+
+}
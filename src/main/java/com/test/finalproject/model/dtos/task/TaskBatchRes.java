@@ -0,0 +1,23 @@
+package com.test.finalproject.model.dtos.task;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public record TaskBatchRes(
+        int created,
+        int rejected,
+        List<Item> items
+) {
+
+    /**
+     * Outcome of the item at {@code index} in the request: the new task id, or the reason it was rejected.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Item(
+            int index,
+            Integer id,
+            String error
+    ) {
+    }
+}
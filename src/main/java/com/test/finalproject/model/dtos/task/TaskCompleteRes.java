@@ -0,0 +1,12 @@
+package com.test.finalproject.model.dtos.task;
+
+import java.util.List;
+
+/**
+ * Ids moved from TODO to COMPLETE, and ids that were unknown or not TODO.
+ */
+public record TaskCompleteRes(
+        List<Integer> completed,
+        List<Integer> rejected
+) {
+}
@@ -0,0 +1,36 @@
+package com.test.finalproject.model.dtos.task;
+
+import com.test.finalproject.enums.ProgressStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Getter @Setter @Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilter {
+
+    private ProgressStatus status;
+
+    private Integer userId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate completedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate completedTo;
+
+    private String name;
+
+    /**
+     * Seek past this id instead of using an offset; page and sort are ignored when set.
+     */
+    private Integer afterId;
+
+    private boolean withTotal;
+}
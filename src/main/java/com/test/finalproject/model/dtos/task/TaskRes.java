@@ -1,6 +1,8 @@
 package com.test.finalproject.model.dtos.task;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.test.finalproject.enums.ProgressStatus;
 import com.test.finalproject.model.dtos.taskDetail.TaskDetailRes;
 
@@ -13,6 +15,13 @@ public record TaskRes(
         @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy")
         Date completeDate,
         ProgressStatus status,
-        List<TaskDetailRes> TaskDetails
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @JsonProperty(TaskRes.EXPAND_TASK_DETAILS)
+        List<TaskDetailRes> taskDetails
 ) {
+
+    /**
+     * Also the JSON name of {@link #taskDetails()}, which clients have always read as {@code TaskDetails}.
+     */
+    public static final String EXPAND_TASK_DETAILS = "TaskDetails";
 }
@@ -0,0 +1,22 @@
+package com.test.finalproject.model.dtos.taskDetail;
+
+import com.test.finalproject.constants.MessageException;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter @Setter @Builder
+public class TaskDetailBatchReq {
+
+    public static final int MAX_SIZE = 500;
+
+    @NotNull(message = MessageException.INVALID_TASK_DETAIL_BATCH_SIZE)
+    @Size(max = MAX_SIZE, message = MessageException.INVALID_TASK_DETAIL_BATCH_SIZE)
+    private List<@NotBlank(message = MessageException.REQUIRED_NAME) String> names;
+
+}
@@ -0,0 +1,22 @@
+package com.test.finalproject.model.dtos.user;
+
+import com.test.finalproject.constants.MessageException;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter @Setter @Builder
+public class UserIdsReq {
+
+    public static final int MAX_SIZE = 1000;
+
+    @NotEmpty(message = MessageException.INVALID_IDS_SIZE)
+    @Size(max = MAX_SIZE, message = MessageException.INVALID_IDS_SIZE)
+    private List<@NotNull(message = MessageException.REQUIRED_USER_ID) Integer> ids;
+
+}
@@ -1,5 +1,6 @@
 package com.test.finalproject.model.dtos.user;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.test.finalproject.enums.AccountStatus;
 import com.test.finalproject.enums.RoleName;
 import com.test.finalproject.model.dtos.task.TaskRes;
@@ -14,6 +15,10 @@ public record UserRes(
         String email,
         RoleName role,
         AccountStatus status,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
         List<TaskRes> tasks
 ) {
+
+    public static final String EXPAND_TASKS = "tasks";
+    public static final String EXPAND_TASK_DETAILS = EXPAND_TASKS + "." + TaskRes.EXPAND_TASK_DETAILS;
 }
@@ -0,0 +1,15 @@
+package com.test.finalproject.model.dtos.user;
+
+import com.test.finalproject.enums.AccountStatus;
+
+import java.util.List;
+
+/**
+ * Ids moved to {@code status}, and ids that were unknown or already in it.
+ */
+public record UserStatusRes(
+        AccountStatus status,
+        List<Integer> updated,
+        List<Integer> unchanged
+) {
+}
@@ -0,0 +1,8 @@
+package com.test.finalproject.model.projection;
+
+public record TaskDetailRow(
+        Integer taskId,
+        Integer id,
+        String name
+) {
+}
@@ -0,0 +1,14 @@
+package com.test.finalproject.model.projection;
+
+import com.test.finalproject.enums.ProgressStatus;
+
+import java.util.Date;
+
+public record TaskRow(
+        Integer id,
+        String name,
+        Date completeDate,
+        ProgressStatus status,
+        Integer userId
+) {
+}
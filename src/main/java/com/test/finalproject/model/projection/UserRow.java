@@ -0,0 +1,15 @@
+package com.test.finalproject.model.projection;
+
+import com.test.finalproject.enums.AccountStatus;
+import com.test.finalproject.enums.RoleName;
+
+public record UserRow(
+        Integer id,
+        String username,
+        String firstName,
+        String lastName,
+        String email,
+        RoleName role,
+        AccountStatus status
+) {
+}
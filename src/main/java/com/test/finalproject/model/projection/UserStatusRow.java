@@ -0,0 +1,15 @@
+package com.test.finalproject.model.projection;
+
+/**
+ * Columns needed to revoke sessions and notify a user whose account status changes.
+ */
+public record UserStatusRow(
+        Integer id,
+        String username,
+        String firstName,
+        String lastName,
+        String email,
+        String locale,
+        int statusVersion
+) {
+}
@@ -0,0 +1,13 @@
+package com.test.finalproject.model.projection;
+
+import com.test.finalproject.enums.AccountStatus;
+
+/**
+ * Persisted status version of a user whose sessions were revoked at least once.
+ */
+public record UserVersionRow(
+        Integer id,
+        AccountStatus status,
+        int statusVersion
+) {
+}
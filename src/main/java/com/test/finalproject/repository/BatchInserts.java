@@ -0,0 +1,58 @@
+package com.test.finalproject.repository;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chunked JDBC batch inserts for tables with IDENTITY ids, which Hibernate cannot batch.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class BatchInserts {
+
+    static final int BATCH_SIZE = 500;
+
+    /**
+     * Runs {@code sql} once per item in batches and returns the generated ids in input order.
+     */
+    static <T> List<Integer> insert(JdbcTemplate jdbcTemplate, String sql, List<T> items,
+                                    ParameterizedPreparedStatementSetter<T> setter) {
+        final List<Integer> ids = new ArrayList<>(items.size());
+
+        for (int from = 0; from < items.size(); from += BATCH_SIZE) {
+            final List<T> batch = items.subList(from, Math.min(from + BATCH_SIZE, items.size()));
+            final KeyHolder keyHolder = new GeneratedKeyHolder();
+
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(sql, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            setter.setValues(ps, batch.get(i));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    },
+                    keyHolder);
+
+            // The key column is reported as ID or GENERATED_KEY depending on the driver.
+            for (Map<String, Object> keys : keyHolder.getKeyList()) {
+                ids.add(((Number) keys.values().iterator().next()).intValue());
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,34 @@
+package com.test.finalproject.repository;
+
+import com.test.finalproject.entity.MailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Integer>, MailOutboxRepositoryCustom {
+
+    /**
+     * Locks the next due mails. Rows another dispatcher already holds are skipped rather than waited on,
+     * so several instances can poll the same table.
+     */
+    @Query(value = "SELECT id FROM mail_outbox WHERE status = :status AND next_attempt_time <= :now "
+            + "ORDER BY next_attempt_time LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Integer> findDueIdsForUpdate(@Param("status") int status, @Param("now") Timestamp now,
+                                      @Param("limit") int limit);
+
+    @Modifying
+    @Query("update MailOutbox m set m.nextAttemptTime = :leaseUntil where m.id in :ids")
+    int lease(@Param("ids") Collection<Integer> ids, @Param("leaseUntil") Timestamp leaseUntil);
+
+    @Modifying
+    @Query("update MailOutbox m set m.status = com.test.finalproject.enums.MailStatus.SENT, "
+            + "m.attempts = m.attempts + 1, m.sentTime = :now, m.modifiedTime = :now where m.id in :ids")
+    int markSent(@Param("ids") Collection<Integer> ids, @Param("now") Timestamp now);
+}
@@ -0,0 +1,10 @@
+package com.test.finalproject.repository;
+
+import com.test.finalproject.entity.MailOutbox;
+
+import java.util.List;
+
+public interface MailOutboxRepositoryCustom {
+
+    List<Integer> insertAll(List<MailOutbox> mails);
+}
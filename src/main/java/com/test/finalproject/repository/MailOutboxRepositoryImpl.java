@@ -0,0 +1,38 @@
+package com.test.finalproject.repository;
+
+import com.test.finalproject.entity.MailOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class MailOutboxRepositoryImpl implements MailOutboxRepositoryCustom {
+
+    private static final String INSERT_MAIL = "INSERT INTO mail_outbox "
+            + "(created_time, modified_time, recipient, subject, body, status, attempts, next_attempt_time) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the mails with JDBC batches on the caller's connection, so they commit or roll back
+     * with the surrounding transaction. Returns the generated ids in input order.
+     */
+    @Override
+    public List<Integer> insertAll(List<MailOutbox> mails) {
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        return BatchInserts.insert(jdbcTemplate, INSERT_MAIL, mails, (ps, mail) -> {
+            ps.setTimestamp(1, now);
+            ps.setTimestamp(2, now);
+            ps.setString(3, mail.getRecipient());
+            ps.setString(4, mail.getSubject());
+            ps.setString(5, mail.getBody());
+            ps.setInt(6, mail.getStatus().ordinal());
+            ps.setInt(7, mail.getAttempts());
+            ps.setTimestamp(8, mail.getNextAttemptTime());
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package com.test.finalproject.repository;
+
+import com.test.finalproject.entity.PasswordResetToken;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Integer> {
+
+    @Query("select t from PasswordResetToken t join fetch t.user where t.tokenHash = :tokenHash")
+    Optional<PasswordResetToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Query("select count(t) > 0 from PasswordResetToken t "
+            + "where t.user.id = :userId and t.createdTime > :since and t.expiryDate > :now")
+    boolean existsIssuedSince(@Param("userId") int userId, @Param("since") Timestamp since, @Param("now") Timestamp now);
+
+    @Query("select t.id from PasswordResetToken t where t.expiryDate < :now order by t.expiryDate")
+    List<Integer> findExpiredIds(@Param("now") Timestamp now, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from PasswordResetToken t where t.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @Query("delete from PasswordResetToken t where t.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") int userId);
+}
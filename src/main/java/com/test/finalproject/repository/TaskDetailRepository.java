@@ -1,9 +1,31 @@
 package com.test.finalproject.repository;
 
 import com.test.finalproject.entity.TaskDetail;
+import com.test.finalproject.model.projection.TaskDetailRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface TaskDetailRepository extends JpaRepository<TaskDetail, Integer> {
+public interface TaskDetailRepository extends JpaRepository<TaskDetail, Integer>, TaskDetailRepositoryCustom {
+
+    @Query("select new com.test.finalproject.model.projection.TaskDetailRow(d.task.id, d.id, d.name) "
+            + "from TaskDetail d where d.task.id in :taskIds order by d.id")
+    List<TaskDetailRow> findRowsByTaskIds(@Param("taskIds") Collection<Integer> taskIds);
+
+    /**
+     * Every detail of a task that has an owner, joined through task and user rather than filtered by an id list.
+     */
+    @Query("select new com.test.finalproject.model.projection.TaskDetailRow(t.id, d.id, d.name) "
+            + "from TaskDetail d join d.task t join t.user u order by d.id")
+    List<TaskDetailRow> findAllOwnedRows();
+
+    @Modifying
+    @Query("delete from TaskDetail d where d.task.id = :taskId")
+    int deleteAllByTaskId(@Param("taskId") int taskId);
 }
@@ -0,0 +1,8 @@
+package com.test.finalproject.repository;
+
+import java.util.List;
+
+public interface TaskDetailRepositoryCustom {
+
+    List<Integer> insertAll(int taskId, List<String> names);
+}
@@ -0,0 +1,31 @@
+package com.test.finalproject.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TaskDetailRepositoryImpl implements TaskDetailRepositoryCustom {
+
+    private static final String INSERT_TASK_DETAIL =
+            "INSERT INTO task_detail (created_time, modified_time, name, task_id) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts one detail per name for the task with JDBC batches and returns the generated ids in input order.
+     */
+    @Override
+    public List<Integer> insertAll(int taskId, List<String> names) {
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        return BatchInserts.insert(jdbcTemplate, INSERT_TASK_DETAIL, names, (ps, name) -> {
+            ps.setTimestamp(1, now);
+            ps.setTimestamp(2, now);
+            ps.setString(3, name);
+            ps.setInt(4, taskId);
+        });
+    }
+}
@@ -1,10 +1,48 @@
 package com.test.finalproject.repository;
 
 import com.test.finalproject.entity.Task;
+import com.test.finalproject.model.projection.TaskRow;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Integer> {
+public interface TaskRepository extends JpaRepository<Task, Integer>, TaskRepositoryCustom {
+
+    @Query("select new com.test.finalproject.model.projection.TaskRow(t.id, t.name, t.completeDate, t.status, t.user.id) "
+            + "from Task t where t.id > :id order by t.id")
+    List<TaskRow> findRowsAfter(@Param("id") int id, Limit limit);
+
+    /**
+     * Every task that has an owner, joined to its user rather than filtered by an id list.
+     */
+    @Query("select new com.test.finalproject.model.projection.TaskRow(t.id, t.name, t.completeDate, t.status, u.id) "
+            + "from Task t join t.user u order by t.id")
+    List<TaskRow> findAllOwnedRows();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.id = :id")
+    Optional<Task> findByIdForUpdate(@Param("id") int id);
+
+    @Query(value = "SELECT id FROM task WHERE status = :status AND id IN (:ids) FOR UPDATE", nativeQuery = true)
+    List<Integer> findIdsByStatusForUpdate(@Param("ids") Collection<Integer> ids, @Param("status") int status);
+
+    @Modifying
+    @Query("update Task t set t.status = com.test.finalproject.enums.ProgressStatus.COMPLETE, "
+            + "t.completeDate = :completeDate, t.modifiedTime = :modifiedTime "
+            + "where t.status = com.test.finalproject.enums.ProgressStatus.TODO and t.id in :ids")
+    int completeAll(@Param("ids") Collection<Integer> ids,
+                    @Param("completeDate") Date completeDate,
+                    @Param("modifiedTime") Timestamp modifiedTime);
 }
@@ -0,0 +1,18 @@
+package com.test.finalproject.repository;
+
+import com.test.finalproject.entity.Task;
+import com.test.finalproject.model.dtos.task.TaskFilter;
+import com.test.finalproject.model.projection.TaskRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+
+    Slice<TaskRow> findTasks(TaskFilter filter, Pageable pageable);
+
+    long countTasks(TaskFilter filter);
+
+    List<Integer> insertAll(List<Task> tasks);
+}
@@ -0,0 +1,130 @@
+package com.test.finalproject.repository;
+
+import com.test.finalproject.entity.Task;
+import com.test.finalproject.model.dtos.task.TaskFilter;
+import com.test.finalproject.model.projection.TaskRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    private static final String INSERT_TASK =
+            "INSERT INTO task (created_time, modified_time, name, complete_date, status, user_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Selects only the response columns into {@link TaskRow}, so no entity is hydrated or tracked,
+     * and fetches one row more than the page size to detect a next page without a count query.
+     */
+    @Override
+    public Slice<TaskRow> findTasks(TaskFilter filter, Pageable pageable) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<TaskRow> query = cb.createQuery(TaskRow.class);
+        final Root<Task> root = query.from(Task.class);
+
+        query.select(cb.construct(
+                        TaskRow.class,
+                        root.get("id"),
+                        root.get("name"),
+                        root.get("completeDate"),
+                        root.get("status"),
+                        root.get("user").get("id")))
+                .where(predicates(filter, cb, root, true))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        final List<TaskRow> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        final boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    /**
+     * Counts every task matching the filter. {@code afterId} only positions a page, so it is left out
+     * and the total stays the same on every page.
+     */
+    @Override
+    public long countTasks(TaskFilter filter) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<Task> root = query.from(Task.class);
+
+        query.select(cb.count(root)).where(predicates(filter, cb, root, false));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Inserts the tasks with JDBC batches, bypassing the persistence context: IDENTITY ids stop Hibernate
+     * from batching inserts. Returns the generated ids in input order. The tasks are not managed afterwards.
+     */
+    @Override
+    public List<Integer> insertAll(List<Task> tasks) {
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        return BatchInserts.insert(jdbcTemplate, INSERT_TASK, tasks, (ps, task) -> {
+            ps.setTimestamp(1, now);
+            ps.setTimestamp(2, now);
+            ps.setString(3, task.getName());
+            ps.setDate(4, task.getCompleteDate());
+            if (task.getStatus() != null) {
+                ps.setInt(5, task.getStatus().ordinal());
+            } else {
+                ps.setNull(5, Types.SMALLINT);
+            }
+            ps.setInt(6, task.getUser().getId());
+        });
+    }
+
+    private Predicate[] predicates(TaskFilter filter, CriteriaBuilder cb, Root<Task> root, boolean seek) {
+        final List<Predicate> predicates = new ArrayList<>();
+
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+        }
+        if (filter.getUserId() != null) {
+            predicates.add(cb.equal(root.get("user").get("id"), filter.getUserId()));
+        }
+        if (filter.getCompletedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("completeDate"), Date.valueOf(filter.getCompletedFrom())));
+        }
+        if (filter.getCompletedTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("completeDate"), Date.valueOf(filter.getCompletedTo())));
+        }
+        if (filter.getName() != null && !filter.getName().isBlank()) {
+            predicates.add(cb.like(root.get("name"), escapeLike(filter.getName()) + "%", '\\'));
+        }
+        if (seek && filter.getAfterId() != null) {
+            predicates.add(cb.greaterThan(root.get("id"), filter.getAfterId()));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
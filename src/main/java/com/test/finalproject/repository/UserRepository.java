@@ -1,9 +1,21 @@
 package com.test.finalproject.repository;
 
 import com.test.finalproject.entity.User;
+import com.test.finalproject.enums.AccountStatus;
+import com.test.finalproject.model.projection.UserRow;
+import com.test.finalproject.model.projection.UserStatusRow;
+import com.test.finalproject.model.projection.UserVersionRow;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,6 +27,30 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
     Optional<User> findByEmail(String email);
 
-    Optional<User> findByEmailAndToken(String email, String token);
+    @Query("select new com.test.finalproject.model.projection.UserVersionRow(u.id, u.status, u.statusVersion) "
+            + "from User u where u.statusVersion > 0")
+    List<UserVersionRow> findRevokedVersions();
+
+    @Query("select new com.test.finalproject.model.projection.UserRow("
+            + "u.id, u.username, u.firstName, u.lastName, u.email, u.role, u.status) "
+            + "from User u order by u.id")
+    List<UserRow> findAllRows();
+
+    @Query("select u.id from User u where u.id in :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.test.finalproject.model.projection.UserStatusRow("
+            + "u.id, u.username, u.firstName, u.lastName, u.email, u.locale, u.statusVersion) "
+            + "from User u where u.id in :ids and u.status <> :status order by u.id")
+    List<UserStatusRow> findStatusRowsForUpdate(@Param("ids") Collection<Integer> ids,
+                                                @Param("status") AccountStatus status);
+
+    @Modifying
+    @Query("update User u set u.status = :status, u.statusVersion = u.statusVersion + 1, u.modifiedTime = :modifiedTime "
+            + "where u.id in :ids and u.status <> :status")
+    int updateStatus(@Param("ids") Collection<Integer> ids,
+                     @Param("status") AccountStatus status,
+                     @Param("modifiedTime") Timestamp modifiedTime);
 
 }
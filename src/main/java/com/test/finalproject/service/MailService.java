@@ -1,8 +1,33 @@
 package com.test.finalproject.service;
 
 
+import com.test.finalproject.enums.MailTemplate;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 public interface MailService {
 
     void sendMail(String to, String subject, String body);
+
+    void sendMails(List<SimpleMailMessage> messages);
+
+    void sendMail(String to, String locale, MailTemplate template, Map<String, String> model);
+
+    void sendMails(MailTemplate template, List<Recipient> recipients);
+
+    /**
+     * Template model for the recipient's name. Both name columns are nullable, and a missing name is
+     * rendered as empty rather than failing the mail.
+     */
+    static Map<String, String> nameModel(String firstName, String lastName) {
+        return Map.of(
+                "firstName", Objects.toString(firstName, ""),
+                "lastName", Objects.toString(lastName, ""));
+    }
+
+    record Recipient(String email, String locale, Map<String, String> model) {
+    }
 }
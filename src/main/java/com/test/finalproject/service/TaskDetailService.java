@@ -1,8 +1,11 @@
 package com.test.finalproject.service;
 
+import com.test.finalproject.model.dtos.taskDetail.TaskDetailBatchReq;
 import com.test.finalproject.model.dtos.taskDetail.TaskDetailReq;
 import com.test.finalproject.model.dtos.taskDetail.TaskDetailRes;
 
+import java.util.List;
+
 public interface TaskDetailService {
 
     TaskDetailRes addTaskDetail(TaskDetailReq req);
@@ -11,4 +14,8 @@ public interface TaskDetailService {
 
     void deleteTaskDetail(int id);
 
+    List<TaskDetailRes> replaceTaskDetails(int taskId, TaskDetailBatchReq req);
+
+    List<TaskDetailRes> appendTaskDetails(int taskId, TaskDetailBatchReq req);
+
 }
@@ -1,21 +1,33 @@
 package com.test.finalproject.service;
 
+import com.test.finalproject.model.dtos.common.CursorRes;
+import com.test.finalproject.model.dtos.common.PageRes;
+import com.test.finalproject.model.dtos.task.TaskBatchReq;
+import com.test.finalproject.model.dtos.task.TaskBatchRes;
+import com.test.finalproject.model.dtos.task.TaskCompleteRes;
+import com.test.finalproject.model.dtos.task.TaskFilter;
+import com.test.finalproject.model.dtos.task.TaskIdsReq;
 import com.test.finalproject.model.dtos.task.TaskReq;
 import com.test.finalproject.model.dtos.task.TaskRes;
-
-import java.util.List;
+import org.springframework.data.domain.Pageable;
 
 public interface TaskService {
 
-    List<TaskRes> getTasks();
+    PageRes<TaskRes> getTasks(TaskFilter filter, Pageable pageable, boolean withDetails);
+
+    CursorRes<TaskRes> getTasksAfter(String cursor, int size, boolean withDetails);
 
     TaskRes getTask(int id);
 
     TaskRes addTask(TaskReq req);
 
+    TaskBatchRes addTasks(TaskBatchReq req);
+
     TaskRes updateTask(TaskReq req,int id);
 
     TaskRes updateTaskCompleted(int id);
 
+    TaskCompleteRes completeTasks(TaskIdsReq req);
+
     void deleteTask(int id);
 }
@@ -1,13 +1,17 @@
 package com.test.finalproject.service;
 
 
+import com.test.finalproject.enums.AccountStatus;
 import com.test.finalproject.model.dtos.user.UserRes;
+import com.test.finalproject.model.dtos.user.UserStatusRes;
 
 import java.util.List;
 
 public interface UserService {
 
-    List<UserRes> getAllUsers();
+    List<UserRes> getAllUsers(boolean withTasks, boolean withTaskDetails);
 
     UserRes updateUserLock(int id);
+
+    UserStatusRes updateUsersStatus(List<Integer> ids, AccountStatus status);
 }
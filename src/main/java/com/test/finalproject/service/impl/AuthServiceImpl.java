@@ -1,27 +1,32 @@
 package com.test.finalproject.service.impl;
 
+import com.test.finalproject.config.AccountRevocationRegistry;
+import com.test.finalproject.config.UserDetailsCache;
 import com.test.finalproject.config.JwtUtil;
 import com.test.finalproject.constants.MessageException;
+import com.test.finalproject.entity.PasswordResetToken;
 import com.test.finalproject.entity.User;
 import com.test.finalproject.enums.AccountStatus;
+import com.test.finalproject.enums.MailTemplate;
 import com.test.finalproject.enums.RoleName;
 import com.test.finalproject.exception.BadRequestException;
 import com.test.finalproject.exception.NotFoundException;
 import com.test.finalproject.model.converter.UserDtoConverter;
 import com.test.finalproject.model.dtos.auth.*;
+import com.test.finalproject.repository.PasswordResetTokenRepository;
 import com.test.finalproject.repository.UserRepository;
 import com.test.finalproject.service.AuthService;
 import com.test.finalproject.service.MailService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -31,15 +36,21 @@ public class AuthServiceImpl implements AuthService {
     @Value("${application.mail.expiration}")
     private int EXPIRATION;
 
+    @Value("${application.mail.resend-interval:60000}")
+    private long RESEND_INTERVAL;
+
     private final PasswordEncoder passwordEncoder;
 
     private final UserRepository userRepository;
 
+    private final PasswordResetTokenRepository tokenRepository;
+
     private final JwtUtil jwtUtil;
 
-    private final AuthenticationManager authenticationManager;
     private final MailService mailService;
     private final JavaMailSender mailSender;
+    private final AccountRevocationRegistry revocationRegistry;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
     public AuthRes login(AuthReq req) {
@@ -55,8 +66,11 @@ public class AuthServiceImpl implements AuthService {
             throw new BadRequestException(MessageException.ACCOUNT_LOCKED);
         }
 
-        authenticationManager
-                .authenticate(new UsernamePasswordAuthenticationToken(req.getUsername(), req.getPassword()));
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(req.getPassword()));
+            userRepository.save(user);
+            userDetailsCache.evict(user.getUsername());
+        }
 
         return new AuthRes(jwtUtil.generateToken(user));
     }
@@ -86,39 +100,54 @@ public class AuthServiceImpl implements AuthService {
     @Override
     @Transactional
     public void requestForgotPassword(String email) {
-
         final User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new NotFoundException(MessageException.NOT_FOUND_USER));
 
-        final String token = UUID.randomUUID().toString();
+        // A repeat request while a fresh code is still valid reuses that code: no new row, no new mail.
+        final long now = System.currentTimeMillis();
+        if (tokenRepository.existsIssuedSince(user.getId(), new Timestamp(now - RESEND_INTERVAL), new Timestamp(now))) {
+            return;
+        }
 
-        user.setToken(token);
-        user.setExpiryDate(new Timestamp(System.currentTimeMillis() + EXPIRATION));
+        final String token = UUID.randomUUID().toString();
 
-        userRepository.save(user);
+        tokenRepository.save(PasswordResetToken.builder()
+                .tokenHash(PasswordResetToken.hash(token))
+                .expiryDate(new Timestamp(now + EXPIRATION))
+                .user(user)
+                .build());
 
-        mailService.sendMail(user.getEmail(),"Verification Code!",
-                "Hi, " + user.getFirstName() + "!\n\nYour verification code: " + token);
+        final Map<String, String> model = new HashMap<>(MailService.nameModel(user.getFirstName(), user.getLastName()));
+        model.put("token", token);
+        mailService.sendMail(user.getEmail(), user.getLocale(), MailTemplate.VERIFICATION_CODE, model);
     }
 
     @Override
     @Transactional
     public void forgotPassword(RequestForgot requestForgot) {
 
-        final User user = userRepository.findByEmailAndToken(requestForgot.getEmail(),requestForgot.getToken())
+        final PasswordResetToken resetToken = tokenRepository
+                .findByTokenHash(PasswordResetToken.hash(requestForgot.getToken()))
+                .filter(found -> found.getUser().getEmail().equals(requestForgot.getEmail()))
                 .orElseThrow(() -> new NotFoundException(MessageException.NOT_FOUND_TOKEN_VERIFY));
 
-        if(user.isTokenExpired()){
+        if(resetToken.isExpired()){
             throw new BadRequestException(MessageException.TOKEN_EXPIRED);
         }
 
-        user.setExpiryDate(new Timestamp(System.currentTimeMillis()));
+        final User user = resetToken.getUser();
+        // Every outstanding code for the user is spent once the password changes.
+        tokenRepository.deleteAllByUserId(user.getId());
+
         user.setPassword(passwordEncoder.encode(requestForgot.getPassword()));
+        user.setStatusVersion(user.getStatusVersion() + 1);
 
         userRepository.save(user);
+        revocationRegistry.revoke(user.getId(), user.getStatusVersion());
+        userDetailsCache.evict(user.getUsername());
 
-        mailService.sendMail(user.getEmail(),"Complete Reset Password!",
-                "Hi, " + user.getFirstName() + "!\n\nCompleted Reset Password!");
+        mailService.sendMail(user.getEmail(), user.getLocale(), MailTemplate.PASSWORD_RESET,
+                MailService.nameModel(user.getFirstName(), user.getLastName()));
     }
 
 }
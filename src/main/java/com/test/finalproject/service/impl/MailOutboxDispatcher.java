@@ -0,0 +1,242 @@
+package com.test.finalproject.service.impl;
+
+import com.test.finalproject.config.SmtpConnectionPool;
+import com.test.finalproject.entity.MailOutbox;
+import com.test.finalproject.enums.MailStatus;
+import com.test.finalproject.repository.MailOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers queued mails in batches. A batch is claimed in one short transaction by pushing its
+ * next attempt out by a lease, sent over a pooled SMTP connection with no transaction open, and
+ * its outcome recorded in a second short transaction. Failed mails are retried with exponential
+ * backoff until they run out of attempts; a crash mid-send only delays the batch until the lease ends.
+ * <p>
+ * Each poll starts {@code concurrency} workers that keep claiming batches until the queue is drained,
+ * paced to at most {@code rate-per-second} mails overall. With {@code spring.threads.virtual.enabled}
+ * the workers are virtual threads; their number stays at {@code concurrency}, which the SMTP pool bounds anyway.
+ */
+@Slf4j
+@Component
+public class MailOutboxDispatcher implements DisposableBean {
+
+    private static final String THREAD_NAME_PREFIX = "mail-dispatch-";
+
+    private final MailOutboxRepository outboxRepository;
+
+    private final SmtpConnectionPool connectionPool;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService workers;
+
+    private final AtomicLong nextSendNanos = new AtomicLong(System.nanoTime());
+
+    private final int concurrency;
+
+    private final int ratePerSecond;
+
+    private final int batchSize;
+
+    private final int maxAttempts;
+
+    private final long initialBackoff;
+
+    private final long maxBackoff;
+
+    private final long lease;
+
+    public MailOutboxDispatcher(
+            MailOutboxRepository outboxRepository,
+            SmtpConnectionPool connectionPool,
+            TransactionTemplate transactionTemplate,
+            @Value("${application.mail.outbox.concurrency:2}") int concurrency,
+            @Value("${application.mail.outbox.rate-per-second:0}") int ratePerSecond,
+            @Value("${application.mail.outbox.batch-size:100}") int batchSize,
+            @Value("${application.mail.outbox.max-attempts:5}") int maxAttempts,
+            @Value("${application.mail.outbox.initial-backoff:30000}") long initialBackoff,
+            @Value("${application.mail.outbox.max-backoff:3600000}") long maxBackoff,
+            @Value("${application.mail.outbox.lease:300000}") long lease,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.outboxRepository = outboxRepository;
+        this.connectionPool = connectionPool;
+        this.transactionTemplate = transactionTemplate;
+        this.workers = Executors.newFixedThreadPool(concurrency, virtualThreads
+                ? new VirtualThreadTaskExecutor(THREAD_NAME_PREFIX).getVirtualThreadFactory()
+                : new CustomizableThreadFactory(THREAD_NAME_PREFIX));
+        this.concurrency = concurrency;
+        this.ratePerSecond = ratePerSecond;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+    }
+
+    /**
+     * Drains every due mail and returns how many went out.
+     */
+    @Scheduled(fixedDelayString = "${application.mail.outbox.poll-interval:1000}")
+    public int dispatch() {
+        final List<Future<Integer>> runs = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            runs.add(workers.submit(this::drain));
+        }
+
+        int sent = 0;
+        for (Future<Integer> run : runs) {
+            try {
+                sent += run.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return sent;
+            } catch (ExecutionException e) {
+                log.error("Mail dispatch worker failed", e.getCause());
+            }
+        }
+        return sent;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private int drain() throws InterruptedException {
+        int sent = 0;
+        while (true) {
+            final List<MailOutbox> mails = claim();
+            if (mails.isEmpty()) {
+                return sent;
+            }
+            sent += deliver(mails);
+            if (mails.size() < batchSize) {
+                return sent;
+            }
+        }
+    }
+
+    private int deliver(List<MailOutbox> mails) throws InterruptedException {
+        pace(mails.size());
+
+        final SimpleMailMessage[] messages = mails.stream()
+                .map(MailOutboxDispatcher::toMessage)
+                .toArray(SimpleMailMessage[]::new);
+        final List<Integer> sent = new ArrayList<>(mails.size());
+        final List<MailOutbox> failed = new ArrayList<>();
+
+        try {
+            connectionPool.send(messages);
+            mails.forEach(mail -> sent.add(mail.getId()));
+        } catch (MailSendException e) {
+            // Failed messages are keyed by the message passed in; an empty map means nothing was delivered.
+            final Map<Object, Exception> failures = e.getFailedMessages();
+            for (int i = 0; i < mails.size(); i++) {
+                final Exception cause = failures.isEmpty() ? e : failures.get(messages[i]);
+                if (cause == null) {
+                    sent.add(mails.get(i).getId());
+                } else {
+                    failed.add(retry(mails.get(i), cause));
+                }
+            }
+        } catch (MailException e) {
+            mails.forEach(mail -> failed.add(retry(mail, e)));
+        }
+
+        record(sent, failed);
+        return sent.size();
+    }
+
+    /**
+     * Reserves send time for {@code messages} mails on a shared schedule and waits for its slot,
+     * so all workers together stay under the configured rate.
+     */
+    private void pace(int messages) throws InterruptedException {
+        if (ratePerSecond <= 0) {
+            return;
+        }
+        final long cost = messages * TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        final long now = System.nanoTime();
+        final long previous = nextSendNanos.getAndAccumulate(cost, (next, c) -> Math.max(next, now) + c);
+        TimeUnit.NANOSECONDS.sleep(Math.max(previous, now) - now);
+    }
+
+    private List<MailOutbox> claim() {
+        return transactionTemplate.execute(status -> {
+            final long now = System.currentTimeMillis();
+            final List<Integer> ids = outboxRepository.findDueIdsForUpdate(
+                    MailStatus.PENDING.ordinal(), new Timestamp(now), batchSize);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            outboxRepository.lease(ids, new Timestamp(now + lease));
+            final List<MailOutbox> mails = new ArrayList<>(outboxRepository.findAllById(ids));
+            mails.sort(Comparator.comparing(MailOutbox::getId));
+            return mails;
+        });
+    }
+
+    private void record(List<Integer> sent, List<MailOutbox> failed) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                outboxRepository.markSent(sent, new Timestamp(System.currentTimeMillis()));
+            }
+            if (!failed.isEmpty()) {
+                outboxRepository.saveAll(failed);
+            }
+        });
+    }
+
+    private MailOutbox retry(MailOutbox mail, Exception cause) {
+        final int attempts = mail.getAttempts() + 1;
+        final String error = String.valueOf(cause.getMessage());
+
+        mail.setAttempts(attempts);
+        mail.setLastError(error.length() > MailOutbox.MAX_ERROR_LENGTH
+                ? error.substring(0, MailOutbox.MAX_ERROR_LENGTH) : error);
+        if (attempts >= maxAttempts) {
+            mail.setStatus(MailStatus.FAILED);
+            log.error("Giving up on mail {} to {} after {} attempts: {}", mail.getId(), mail.getRecipient(), attempts, error);
+        } else {
+            mail.setNextAttemptTime(new Timestamp(System.currentTimeMillis() + backoff(attempts)));
+            log.warn("Mail {} failed on attempt {}, retrying: {}", mail.getId(), attempts, error);
+        }
+        return mail;
+    }
+
+    long backoff(int attempts) {
+        final int shift = Math.min(attempts - 1, 30);
+        return Math.min(maxBackoff, initialBackoff << shift);
+    }
+
+    private static SimpleMailMessage toMessage(MailOutbox mail) {
+        final SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(mail.getRecipient());
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getBody());
+        return message;
+    }
+}
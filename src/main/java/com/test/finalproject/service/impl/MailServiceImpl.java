@@ -1,31 +1,87 @@
 package com.test.finalproject.service.impl;
 
+import com.test.finalproject.config.MailTemplates;
+import com.test.finalproject.entity.MailOutbox;
+import com.test.finalproject.enums.MailStatus;
+import com.test.finalproject.enums.MailTemplate;
+import com.test.finalproject.repository.MailOutboxRepository;
 import com.test.finalproject.service.MailService;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 
+/**
+ * Queues mails in the outbox table inside the caller's transaction; {@link MailOutboxDispatcher}
+ * delivers them after commit. Nothing here talks to SMTP.
+ */
 @Service
 @RequiredArgsConstructor
 public class MailServiceImpl implements MailService {
 
-    private final JavaMailSender mailSender;
+    private final MailOutboxRepository outboxRepository;
+
+    private final MailTemplates mailTemplates;
 
     @Override
-    @Async
+    @Transactional
     public void sendMail(String to, String subject, String body) {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
-            mailSender.send(message);
+        outboxRepository.save(pending(to, subject, body, new Timestamp(System.currentTimeMillis())));
+    }
+
+    /**
+     * Queues one row per recipient with a single JDBC batch.
+     */
+    @Override
+    @Transactional
+    public void sendMails(List<SimpleMailMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+        final List<MailOutbox> mails = new ArrayList<>(messages.size());
+        for (SimpleMailMessage message : messages) {
+            if (message.getTo() == null) {
+                continue;
+            }
+            for (String to : message.getTo()) {
+                mails.add(pending(to, message.getSubject(), message.getText(), now));
+            }
+        }
+        outboxRepository.insertAll(mails);
+    }
+
+    @Override
+    @Transactional
+    public void sendMail(String to, String locale, MailTemplate template, Map<String, String> model) {
+        final SimpleMailMessage message = mailTemplates.render(to, locale, template, model);
+        sendMail(to, message.getSubject(), message.getText());
     }
 
+    /**
+     * Renders each recipient in their own language and queues the whole wave as one batch.
+     */
+    @Override
+    @Transactional
+    public void sendMails(MailTemplate template, List<Recipient> recipients) {
+        sendMails(recipients.stream()
+                .map(recipient -> mailTemplates.render(recipient.email(), recipient.locale(), template, recipient.model()))
+                .toList());
+    }
 
+    private static MailOutbox pending(String to, String subject, String body, Timestamp now) {
+        return MailOutbox.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .status(MailStatus.PENDING)
+                .nextAttemptTime(now)
+                .build();
+    }
 }
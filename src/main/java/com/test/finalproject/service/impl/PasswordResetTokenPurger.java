@@ -0,0 +1,59 @@
+package com.test.finalproject.service.impl;
+
+import com.test.finalproject.repository.PasswordResetTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Deletes expired password reset tokens in bounded chunks. Each chunk is its own short
+ * transaction keyed by primary key, so the sweep never holds locks across the whole table.
+ */
+@Slf4j
+@Component
+public class PasswordResetTokenPurger {
+
+    private final PasswordResetTokenRepository tokenRepository;
+
+    private final int chunkSize;
+
+    private final int maxChunks;
+
+    public PasswordResetTokenPurger(
+            PasswordResetTokenRepository tokenRepository,
+            @Value("${application.security.reset-token.purge.chunk-size:500}") int chunkSize,
+            @Value("${application.security.reset-token.purge.max-chunks:100}") int maxChunks) {
+        this.tokenRepository = tokenRepository;
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+    }
+
+    @Scheduled(
+            initialDelayString = "${application.security.reset-token.purge.interval:3600000}",
+            fixedDelayString = "${application.security.reset-token.purge.interval:3600000}")
+    public int purgeExpired() {
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+        int purged = 0;
+
+        for (int chunk = 0; chunk < maxChunks; chunk++) {
+            final List<Integer> ids = tokenRepository.findExpiredIds(now, Limit.of(chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            purged += tokenRepository.deleteAllByIdIn(ids);
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+
+        if (purged > 0) {
+            log.info("Purged {} expired password reset tokens", purged);
+        }
+        return purged;
+    }
+}
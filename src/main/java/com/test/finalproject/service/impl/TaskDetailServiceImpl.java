@@ -6,6 +6,7 @@ import com.test.finalproject.entity.TaskDetail;
 import com.test.finalproject.enums.ProgressStatus;
 import com.test.finalproject.exception.NotFoundException;
 import com.test.finalproject.model.converter.TaskDetailDtoConverter;
+import com.test.finalproject.model.dtos.taskDetail.TaskDetailBatchReq;
 import com.test.finalproject.model.dtos.taskDetail.TaskDetailReq;
 import com.test.finalproject.model.dtos.taskDetail.TaskDetailRes;
 import com.test.finalproject.repository.TaskDetailRepository;
@@ -15,6 +16,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class TaskDetailServiceImpl implements TaskDetailService {
@@ -63,4 +66,41 @@ public class TaskDetailServiceImpl implements TaskDetailService {
         }
         repo.delete(taskDetail);
     }
+
+    /**
+     * Swaps the whole checklist of a task: one set-based delete followed by batched inserts.
+     * The task row stays locked until commit so concurrent writes to the same checklist cannot interleave.
+     */
+    @Override
+    @Transactional
+    public List<TaskDetailRes> replaceTaskDetails(int taskId, TaskDetailBatchReq req) {
+        final Task task = taskRepository.findByIdForUpdate(taskId)
+                .orElseThrow(() -> new NotFoundException(MessageException.NOT_FOUND_TASK));
+
+        if (task.getStatus().equals(ProgressStatus.COMPLETE)) {
+            throw new NotFoundException(MessageException.TASK_IS_COMPLETED);
+        }
+        repo.deleteAllByTaskId(taskId);
+
+        final List<String> names = req.getNames();
+        final List<Integer> ids = names.isEmpty() ? List.of() : repo.insertAll(taskId, names);
+        return TaskDetailDtoConverter.toModelList(ids, names);
+    }
+
+    @Override
+    @Transactional
+    public List<TaskDetailRes> appendTaskDetails(int taskId, TaskDetailBatchReq req) {
+        final Task task = taskRepository.findByIdForUpdate(taskId)
+                .orElseThrow(() -> new NotFoundException(MessageException.NOT_FOUND_TASK));
+
+        if (task.getStatus().equals(ProgressStatus.COMPLETE)) {
+            throw new NotFoundException(MessageException.TASK_IS_COMPLETED);
+        }
+        if (!req.getNames().isEmpty()) {
+            repo.insertAll(taskId, req.getNames());
+        }
+        return repo.findRowsByTaskIds(List.of(taskId)).stream()
+                .map(TaskDetailDtoConverter::toResponse)
+                .toList();
+    }
 }
@@ -7,17 +7,41 @@ import com.test.finalproject.enums.ProgressStatus;
 import com.test.finalproject.exception.BadRequestException;
 import com.test.finalproject.exception.NotFoundException;
 import com.test.finalproject.model.converter.TaskDtoConverter;
+import com.test.finalproject.model.dtos.common.CursorRes;
+import com.test.finalproject.model.dtos.common.PageRes;
+import com.test.finalproject.model.dtos.task.TaskBatchReq;
+import com.test.finalproject.model.dtos.task.TaskBatchRes;
+import com.test.finalproject.model.dtos.task.TaskCompleteRes;
+import com.test.finalproject.model.dtos.task.TaskFilter;
+import com.test.finalproject.model.dtos.task.TaskIdsReq;
 import com.test.finalproject.model.dtos.task.TaskReq;
 import com.test.finalproject.model.dtos.task.TaskRes;
+import com.test.finalproject.model.projection.TaskRow;
+import com.test.finalproject.repository.TaskDetailRepository;
 import com.test.finalproject.repository.TaskRepository;
 import com.test.finalproject.repository.UserRepository;
 import com.test.finalproject.service.TaskService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -27,12 +51,44 @@ public class TaskServiceImpl implements TaskService {
 
     private final UserRepository userRepository;
 
+    private final TaskDetailRepository taskDetailRepository;
+
+    private final Validator validator;
+
+    private static final Set<String> SORTABLE_PROPERTIES =
+            Set.of("id", "name", "status", "completeDate", "createdTime", "modifiedTime");
+
+    private static final int MAX_CURSOR_SIZE = 1000;
+
+    private static final String CURSOR_PREFIX = "task:";
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageRes<TaskRes> getTasks(TaskFilter filter, Pageable pageable, boolean withDetails) {
+        final Slice<TaskRow> tasks = taskRepository.findTasks(filter, toQueryPage(filter, pageable));
+        final Long total = filter.isWithTotal() ? taskRepository.countTasks(filter) : null;
+
+        return PageRes.of(tasks, toResponses(tasks.getContent(), withDetails), total);
+    }
+
     @Override
-    public List<TaskRes> getTasks() {
-        return TaskDtoConverter.toModelList(taskRepository.findAll());
+    @Transactional(readOnly = true)
+    public CursorRes<TaskRes> getTasksAfter(String cursor, int size, boolean withDetails) {
+        final int batchSize = Math.max(1, Math.min(size, MAX_CURSOR_SIZE));
+        final int lastId = cursor == null || cursor.isBlank() ? 0 : decodeCursor(cursor);
+
+        final List<TaskRow> tasks = taskRepository.findRowsAfter(lastId, Limit.of(batchSize + 1));
+        final boolean hasNext = tasks.size() > batchSize;
+        final List<TaskRow> batch = hasNext ? tasks.subList(0, batchSize) : tasks;
+
+        return new CursorRes<>(
+                toResponses(batch, withDetails),
+                hasNext ? encodeCursor(batch.get(batch.size() - 1).id()) : null
+        );
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TaskRes getTask(int id) {
         final Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(MessageException.NOT_FOUND_TASK));
@@ -55,6 +111,52 @@ public class TaskServiceImpl implements TaskService {
         return TaskDtoConverter.toResponse(task);
     }
 
+    @Override
+    @Transactional
+    public TaskBatchRes addTasks(TaskBatchReq req) {
+        final List<TaskReq> items = req.getTasks();
+        final String[] errors = new String[items.size()];
+
+        final Set<Integer> userIds = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            errors[i] = validate(items.get(i));
+            if (errors[i] == null) {
+                userIds.add(items.get(i).getUserId());
+            }
+        }
+        final Set<Integer> existingUserIds = userIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(userRepository.findExistingIds(userIds));
+
+        final List<Integer> accepted = new ArrayList<>();
+        final List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (errors[i] != null) {
+                continue;
+            }
+            if (!existingUserIds.contains(items.get(i).getUserId())) {
+                errors[i] = MessageException.NOT_FOUND_USER;
+                continue;
+            }
+            final Task task = TaskDtoConverter.toEntity(items.get(i));
+            task.setStatus(ProgressStatus.TODO);
+            accepted.add(i);
+            tasks.add(task);
+        }
+
+        final List<Integer> ids = tasks.isEmpty() ? List.of() : taskRepository.insertAll(tasks);
+        final Integer[] createdIds = new Integer[items.size()];
+        for (int i = 0; i < accepted.size(); i++) {
+            createdIds[accepted.get(i)] = ids.get(i);
+        }
+
+        final List<TaskBatchRes.Item> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            results.add(new TaskBatchRes.Item(i, createdIds[i], errors[i]));
+        }
+        return new TaskBatchRes(tasks.size(), items.size() - tasks.size(), results);
+    }
+
     @Override
     @Transactional
     public TaskRes updateTask(TaskReq req, int id) {
@@ -89,6 +191,34 @@ public class TaskServiceImpl implements TaskService {
         return TaskDtoConverter.toResponse(task);
     }
 
+    /**
+     * Locks the TODO rows among the requested ids, then completes exactly those with one conditional UPDATE,
+     * so the returned ids match what changed even under concurrent transitions.
+     */
+    @Override
+    @Transactional
+    public TaskCompleteRes completeTasks(TaskIdsReq req) {
+        final Set<Integer> ids = new LinkedHashSet<>(req.getIds());
+        final Set<Integer> todoIds = new HashSet<>(
+                taskRepository.findIdsByStatusForUpdate(ids, ProgressStatus.TODO.ordinal()));
+
+        if (!todoIds.isEmpty()) {
+            final long now = System.currentTimeMillis();
+            taskRepository.completeAll(todoIds, new Date(now), new Timestamp(now));
+        }
+
+        final List<Integer> completed = new ArrayList<>(todoIds.size());
+        final List<Integer> rejected = new ArrayList<>();
+        for (Integer id : ids) {
+            if (todoIds.contains(id)) {
+                completed.add(id);
+            } else {
+                rejected.add(id);
+            }
+        }
+        return new TaskCompleteRes(completed, rejected);
+    }
+
     @Override
     @Transactional
     public void deleteTask(int id) {
@@ -100,5 +230,59 @@ public class TaskServiceImpl implements TaskService {
         taskRepository.delete(task);
     }
 
+    private String validate(TaskReq item) {
+        if (item == null) {
+            return MessageException.REQUIRED_NAME;
+        }
+        return validator.validate(item).stream()
+                .map(ConstraintViolation::getMessage)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+    }
 
+    private List<TaskRes> toResponses(List<TaskRow> rows, boolean withDetails) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        if (!withDetails) {
+            return TaskDtoConverter.toModelList(rows, null);
+        }
+        final List<Integer> taskIds = rows.stream().map(TaskRow::id).toList();
+        return TaskDtoConverter.toModelList(rows, taskDetailRepository.findRowsByTaskIds(taskIds));
+    }
+
+    private Pageable toQueryPage(TaskFilter filter, Pageable pageable) {
+        if (filter.getAfterId() != null) {
+            return PageRequest.of(0, pageable.getPageSize(), Sort.by("id"));
+        }
+
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new BadRequestException(MessageException.INVALID_SORT);
+            }
+        }
+
+        // A unique tie-breaker keeps pages stable when the requested sort has duplicates.
+        final Sort sort = pageable.getSort().getOrderFor("id") == null
+                ? pageable.getSort().and(Sort.by("id"))
+                : pageable.getSort();
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+
+    private static String encodeCursor(int lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeCursor(String cursor) {
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new BadRequestException(MessageException.INVALID_CURSOR);
+            }
+            return Integer.parseInt(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(MessageException.INVALID_CURSOR);
+        }
+    }
 }
@@ -1,11 +1,21 @@
 package com.test.finalproject.service.impl;
 
+import com.test.finalproject.config.AccountRevocationRegistry;
+import com.test.finalproject.config.UserDetailsCache;
 import com.test.finalproject.constants.MessageException;
 import com.test.finalproject.entity.User;
 import com.test.finalproject.enums.AccountStatus;
+import com.test.finalproject.enums.MailTemplate;
 import com.test.finalproject.exception.NotFoundException;
 import com.test.finalproject.model.converter.UserDtoConverter;
 import com.test.finalproject.model.dtos.user.UserRes;
+import com.test.finalproject.model.dtos.user.UserStatusRes;
+import com.test.finalproject.model.projection.TaskDetailRow;
+import com.test.finalproject.model.projection.TaskRow;
+import com.test.finalproject.model.projection.UserRow;
+import com.test.finalproject.model.projection.UserStatusRow;
+import com.test.finalproject.repository.TaskDetailRepository;
+import com.test.finalproject.repository.TaskRepository;
 import com.test.finalproject.repository.UserRepository;
 import com.test.finalproject.service.MailService;
 import com.test.finalproject.service.UserService;
@@ -13,18 +23,45 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final TaskDetailRepository taskDetailRepository;
     private final MailService mailService;
+    private final AccountRevocationRegistry revocationRegistry;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
-    public List<UserRes> getAllUsers() {
-        return UserDtoConverter.toModelList(userRepository.findAll()) ;
+    @Transactional(readOnly = true)
+    public List<UserRes> getAllUsers(boolean withTasks, boolean withTaskDetails) {
+        final List<UserRow> users = userRepository.findAllRows();
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        if (!withTasks) {
+            return UserDtoConverter.toModelList(users, null, null);
+        }
+
+        // Every user is listed, so tasks and details are read by joining to their owner;
+        // an IN list of all user or task ids would grow with the tables.
+        final List<TaskRow> tasks = taskRepository.findAllOwnedRows();
+        if (!withTaskDetails) {
+            return UserDtoConverter.toModelList(users, tasks, null);
+        }
+        final List<TaskDetailRow> taskDetails = tasks.isEmpty()
+                ? List.of()
+                : taskDetailRepository.findAllOwnedRows();
+
+        return UserDtoConverter.toModelList(users, tasks, taskDetails);
     }
 
     @Override
@@ -34,11 +71,49 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new NotFoundException(MessageException.NOT_FOUND_USER));
 
         user.setStatus(AccountStatus.LOCKED);
+        user.setStatusVersion(user.getStatusVersion() + 1);
         userRepository.save(user);
+        revocationRegistry.revoke(user.getId(), user.getStatusVersion());
+        userDetailsCache.evict(user.getUsername());
+
+        mailService.sendMail(user.getEmail(), user.getLocale(), MailTemplate.ACCOUNT_LOCKED,
+                MailService.nameModel(user.getFirstName(), user.getLastName()));
+        return UserDtoConverter.toSummary(user);
+    }
+
+    /**
+     * Locks the affected rows, flips them with one set-based UPDATE, then revokes their tokens,
+     * drops their cached details and hands every notification to the mail sender as one batch.
+     */
+    @Override
+    @Transactional
+    public UserStatusRes updateUsersStatus(List<Integer> ids, AccountStatus status) {
+        final Set<Integer> requested = new LinkedHashSet<>(ids);
+        final List<UserStatusRow> users = userRepository.findStatusRowsForUpdate(requested, status);
+
+        final Set<Integer> updated = new LinkedHashSet<>();
+        if (!users.isEmpty()) {
+            users.forEach(user -> updated.add(user.id()));
+            userRepository.updateStatus(updated, status, new Timestamp(System.currentTimeMillis()));
+        }
+
+        final List<MailService.Recipient> recipients = new ArrayList<>(users.size());
+        for (UserStatusRow user : users) {
+            if (status == AccountStatus.LOCKED) {
+                revocationRegistry.revoke(user.id(), user.statusVersion() + 1);
+            }
+            userDetailsCache.evict(user.username());
+            recipients.add(new MailService.Recipient(
+                    user.email(), user.locale(), MailService.nameModel(user.firstName(), user.lastName())));
+        }
+        mailService.sendMails(
+                status == AccountStatus.LOCKED ? MailTemplate.ACCOUNT_LOCKED : MailTemplate.ACCOUNT_UNLOCKED,
+                recipients);
 
-        mailService.sendMail(user.getEmail(),"Account Locked!",
-                "Hi, " + user.getFirstName() + " " + user.getFirstName() + "!\n Tài  khoản của bạn đã bị khóa vì bạn đã vi phạm bất thường.");
-        return UserDtoConverter.toResponse(user);
+        final List<Integer> unchanged = requested.stream()
+                .filter(id -> !updated.contains(id))
+                .toList();
+        return new UserStatusRes(status, List.copyOf(updated), unchanged);
     }
 
 }
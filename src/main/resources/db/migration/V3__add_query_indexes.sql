@@ -0,0 +1,11 @@
+-- Task listing by owner, optionally narrowed by status (TaskFilter.userId/status, user task listing).
+CREATE INDEX idx_task_user_status ON task (user_id, status);
+
+-- Status filters and completion reports by date range; also serves status-only filters.
+CREATE INDEX idx_task_status_complete_date ON task (status, complete_date);
+
+-- Prefix search on TaskFilter.name (LIKE 'prefix%').
+CREATE INDEX idx_task_name ON task (name);
+
+-- Locked-account scan when the revocation registry starts up.
+CREATE INDEX idx_user_status ON user (status);
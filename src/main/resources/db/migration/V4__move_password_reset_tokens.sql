@@ -0,0 +1,23 @@
+CREATE TABLE password_reset_token
+(
+    id            INT AUTO_INCREMENT NOT NULL,
+    created_time  datetime NULL,
+    modified_time datetime NULL,
+    token_hash    CHAR(64) NOT NULL,
+    expiry_date   datetime NOT NULL,
+    user_id       INT NOT NULL,
+    CONSTRAINT pk_password_reset_token PRIMARY KEY (id)
+);
+
+ALTER TABLE password_reset_token
+    ADD CONSTRAINT uc_password_reset_token_hash UNIQUE (token_hash);
+
+CREATE INDEX idx_password_reset_token_expiry ON password_reset_token (expiry_date);
+
+ALTER TABLE password_reset_token
+    ADD CONSTRAINT FK_PASSWORDRESETTOKEN_ON_USERID FOREIGN KEY (user_id) REFERENCES user (id);
+
+-- Outstanding raw tokens are dropped with the columns; affected users request a new code.
+ALTER TABLE user DROP COLUMN token;
+
+ALTER TABLE user DROP COLUMN expiry_date;
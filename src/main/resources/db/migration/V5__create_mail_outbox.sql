@@ -0,0 +1,18 @@
+CREATE TABLE mail_outbox
+(
+    id                INT AUTO_INCREMENT NOT NULL,
+    created_time      datetime NULL,
+    modified_time     datetime NULL,
+    recipient         VARCHAR(255) NOT NULL,
+    subject           VARCHAR(255) NULL,
+    body              TEXT NULL,
+    status            SMALLINT NOT NULL,
+    attempts          INT NOT NULL DEFAULT 0,
+    next_attempt_time datetime NOT NULL,
+    sent_time         datetime NULL,
+    last_error        VARCHAR(500) NULL,
+    CONSTRAINT pk_mail_outbox PRIMARY KEY (id)
+);
+
+-- The dispatcher polls pending rows in next_attempt_time order.
+CREATE INDEX idx_mail_outbox_status_next_attempt ON mail_outbox (status, next_attempt_time);
@@ -0,0 +1,2 @@
+-- Language tag used to pick the mail template variant; NULL means the default language.
+ALTER TABLE user ADD COLUMN locale VARCHAR(16) NULL;
@@ -0,0 +1,3 @@
+-- The revocation registry now reloads every user whose status version was bumped, not only locked ones.
+ALTER TABLE user DROP INDEX idx_user_status;
+CREATE INDEX idx_user_status_version ON user (status_version);
@@ -0,0 +1,103 @@
+package com.test.finalproject.benchmark;
+
+import com.test.finalproject.config.JwtUtil;
+import com.test.finalproject.entity.User;
+import com.test.finalproject.enums.AccountStatus;
+import com.test.finalproject.enums.RoleName;
+import com.test.finalproject.model.dtos.auth.AuthReq;
+import com.test.finalproject.repository.UserRepository;
+import com.test.finalproject.service.impl.AuthServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Login throughput with a real BCrypt encoder and an in-memory user lookup.
+ * Run with {@code mvn test -Dtest=LoginBenchmarkTest -Dbenchmark=true}.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class LoginBenchmarkTest {
+
+    private static final int WARMUP = 10;
+    private static final int ITERATIONS = 50;
+    private static final String PASSWORD = "123@L.quy5401";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Spy
+    private PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+    @InjectMocks
+    private AuthServiceImpl authService;
+
+    private AuthReq authReq;
+
+    private DaoAuthenticationProvider legacyProvider;
+
+    @BeforeEach
+    public void setUp() {
+        User user = User.builder()
+                .id(1)
+                .username("votuan123")
+                .password(passwordEncoder.encode(PASSWORD))
+                .status(AccountStatus.ACTIVE)
+                .role(RoleName.USER)
+                .build();
+        authReq = AuthReq.builder().username(user.getUsername()).password(PASSWORD).build();
+
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(jwtUtil.generateToken(any(User.class))).thenReturn("token");
+
+        // The authentication manager the previous login path called after its own password check.
+        legacyProvider = new DaoAuthenticationProvider();
+        legacyProvider.setUserDetailsService(username -> userRepository.findByUsername(username).orElseThrow());
+        legacyProvider.setPasswordEncoder(passwordEncoder);
+    }
+
+    @Test
+    public void benchmarkLogin() {
+        double single = measure(() -> authService.login(authReq));
+        double legacy = measure(() -> {
+            authService.login(authReq);
+            legacyProvider.authenticate(
+                    new UsernamePasswordAuthenticationToken(authReq.getUsername(), authReq.getPassword()));
+        });
+
+        System.out.printf("login, single verification : %8.1f logins/s%n", single);
+        System.out.printf("login, double verification : %8.1f logins/s%n", legacy);
+    }
+
+    private double measure(Runnable login) {
+        for (int i = 0; i < WARMUP; i++) {
+            login.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            login.run();
+        }
+        return ITERATIONS / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,47 @@
+package com.test.finalproject.benchmark;
+
+import com.test.finalproject.config.PasswordEncoderFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Reports hash time per algorithm and cost so the target settings can be tuned per host.
+ * Run with {@code mvn test -Dtest=PasswordHashingBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class PasswordHashingBenchmarkTest {
+
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 10;
+    private static final String PASSWORD = "123@L.quy5401";
+
+    @Test
+    public void benchmarkHashCost() {
+        for (int strength = 8; strength <= 13; strength++) {
+            report("bcrypt strength=" + strength, new BCryptPasswordEncoder(strength));
+        }
+        for (int iterations : new int[]{100_000, 310_000, 600_000}) {
+            report("pbkdf2 iterations=" + iterations, PasswordEncoderFactory.pbkdf2(iterations));
+        }
+        for (int memory : new int[]{16_384, 65_536}) {
+            for (int iterations : new int[]{2, 3}) {
+                report("argon2 memory=" + memory + "KiB iterations=" + iterations,
+                        PasswordEncoderFactory.argon2(memory, iterations));
+            }
+        }
+    }
+
+    private void report(String name, PasswordEncoder encoder) {
+        for (int i = 0; i < WARMUP; i++) {
+            encoder.encode(PASSWORD);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            encoder.encode(PASSWORD);
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+        System.out.printf("%-40s %8.1f ms/hash%n", name, millis);
+    }
+}
@@ -0,0 +1,185 @@
+package com.test.finalproject.config;
+
+import com.test.finalproject.constants.MessageException;
+import com.test.finalproject.exception.ServiceUnavailableException;
+import com.test.finalproject.service.impl.TaskDetailServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(1);
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(1);
+
+    private static final String SINGLE = "single";
+
+    private static final String BULK = "bulk";
+
+    @Test
+    public void tryAcquire_RefusesOnceLimitIsInUse() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        limiter.release(SINGLE, FAST, false);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void release_GrowsAdditivelyWhileSaturatedAndFast() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 6);
+
+        for (int i = 0; i < 100; i++) {
+            for (int j = 0; j < limiter.getLimit(); j++) {
+                limiter.tryAcquire();
+            }
+            while (limiter.getInFlight() > 0) {
+                limiter.release(SINGLE, FAST, false);
+            }
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(6);
+    }
+
+    @Test
+    public void release_DoesNotGrowWhenUnderused() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 100);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(SINGLE, FAST, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    public void release_BacksOffMultiplicativelyOnSlowOrOverloadedCalls() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40, 3, 100);
+        long now = System.nanoTime();
+        limiter.tryAcquire();
+        limiter.release(SINGLE, FAST, false, now);
+
+        limiter.tryAcquire();
+        limiter.release(SINGLE, SLOW, false, now += WINDOW);
+        assertThat(limiter.getLimit()).isEqualTo(20);
+
+        limiter.tryAcquire();
+        limiter.release(SINGLE, FAST, true, now += WINDOW);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire();
+            limiter.release(SINGLE, SLOW, false, now += WINDOW);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    public void release_CutsAtMostOncePerWindow() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40, 3, 100);
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.release(SINGLE, FAST, true, now + i);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(20);
+
+        limiter.tryAcquire();
+        limiter.release(SINGLE, FAST, true, now + WINDOW);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    public void release_JudgesEachKindAgainstItsOwnBaseline() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40, 3, 100);
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.release(BULK, SLOW, false, now += WINDOW);
+            limiter.tryAcquire();
+            limiter.release(SINGLE, FAST, false, now += WINDOW);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(40);
+
+        limiter.tryAcquire();
+        limiter.release(SINGLE, SLOW, false, now + WINDOW);
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    public void aspect_ShedsWith503AndPublishesLimit() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ServiceConcurrencyAspect aspect = new ServiceConcurrencyAspect(
+                meterRegistry, 1, 1, 10, Duration.ofMillis(100), 2.0, 0.5, Duration.ofSeconds(1), 2);
+        TaskDetailServiceImpl target = Mockito.mock(TaskDetailServiceImpl.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        TaskDetailServiceImpl service = factory.getProxy();
+        AtomicReference<Throwable> nested = new AtomicReference<>();
+
+        doAnswer(invocation -> {
+            try {
+                service.deleteTaskDetail(2);
+            } catch (Throwable e) {
+                nested.set(e);
+            }
+            return null;
+        }).when(target).deleteTaskDetail(1);
+
+        service.deleteTaskDetail(1);
+
+        assertThat(nested.get())
+                .isInstanceOfSatisfying(ServiceUnavailableException.class, e -> {
+                    assertThat(e.getMessage()).isEqualTo(MessageException.SERVICE_BUSY);
+                    assertThat(e.getRetryAfterSeconds()).isEqualTo(2);
+                });
+        // The admitted call was fast and used the whole limit, so the limit grew by one.
+        assertThat(meterRegistry.get("service.concurrency.limit").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("service.concurrency.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("service.concurrency.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    public void aspect_TreatsConnectionFailureAsOverload() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ServiceConcurrencyAspect aspect = new ServiceConcurrencyAspect(
+                meterRegistry, 8, 1, 10, Duration.ofSeconds(10), 2.0, 0.5, Duration.ofSeconds(1), 1);
+        TaskDetailServiceImpl target = Mockito.mock(TaskDetailServiceImpl.class);
+        doThrow(new CannotCreateTransactionException("pool exhausted")).when(target).deleteTaskDetail(anyInt());
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        TaskDetailServiceImpl service = factory.getProxy();
+
+        assertThatThrownBy(() -> service.deleteTaskDetail(1)).isInstanceOf(CannotCreateTransactionException.class);
+
+        assertThat(meterRegistry.get("service.concurrency.limit").gauge().value()).isEqualTo(4);
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, THRESHOLD, 2.0, 0.5, WINDOW);
+    }
+}
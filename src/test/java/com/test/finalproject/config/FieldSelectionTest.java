@@ -0,0 +1,117 @@
+package com.test.finalproject.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.finalproject.constants.MessageException;
+import com.test.finalproject.enums.AccountStatus;
+import com.test.finalproject.enums.ProgressStatus;
+import com.test.finalproject.enums.RoleName;
+import com.test.finalproject.exception.BadRequestException;
+import com.test.finalproject.model.dtos.task.TaskRes;
+import com.test.finalproject.model.dtos.taskDetail.TaskDetailRes;
+import com.test.finalproject.model.dtos.user.UserRes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FieldSelectionTest {
+
+    private ObjectMapper objectMapper;
+
+    private UserRes user;
+
+    @BeforeEach
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JacksonConfig().fieldFilterCustomizer().customize(builder);
+        objectMapper = builder.build();
+
+        TaskRes task = new TaskRes(5, "Feature", null, ProgressStatus.TODO, null);
+        user = new UserRes(1, "votuan123", "tuan", "vo", "vothanhtuan069@gmail.com",
+                RoleName.USER, AccountStatus.ACTIVE, List.of(task));
+    }
+
+    @Test
+    public void testFilter_WritesOnlySelectedFieldsAndId() throws Exception {
+        JsonNode json = write(FieldSelection.filter(List.of(user), JacksonConfig.USER_FILTER, UserRes.class,
+                Set.of("username", "tasks"), Set.of()));
+
+        assertThat(json.get(0).fieldNames()).toIterable().containsExactlyInAnyOrder("id", "username", "tasks");
+        assertThat(json.get(0).get("tasks").get(0).fieldNames()).toIterable()
+                .containsExactlyInAnyOrder("id", "name", "completeDate", "status");
+    }
+
+    @Test
+    public void testFilter_WithoutFieldsWritesEverythingButUnexpandedCollections() throws Exception {
+        UserRes summary = new UserRes(1, "votuan123", "tuan", "vo", "vothanhtuan069@gmail.com",
+                RoleName.USER, AccountStatus.ACTIVE, null);
+
+        JsonNode json = write(FieldSelection.filter(List.of(summary), JacksonConfig.USER_FILTER, UserRes.class, null, Set.of()));
+
+        assertThat(json.get(0).fieldNames()).toIterable()
+                .containsExactlyInAnyOrder("id", "username", "firstName", "lastName", "email", "role", "status");
+    }
+
+    @Test
+    public void testFilter_KeepsExpandedPropertyOutsideSelectedFields() throws Exception {
+        TaskRes task = new TaskRes(5, "Feature", null, ProgressStatus.TODO,
+                List.of(new TaskDetailRes(7, "Design")));
+        Set<String> expansions = FieldSelection.expand(Set.of(TaskRes.EXPAND_TASK_DETAILS),
+                Set.of(TaskRes.EXPAND_TASK_DETAILS));
+
+        JsonNode json = write(FieldSelection.filter(List.of(task), JacksonConfig.TASK_FILTER, TaskRes.class,
+                Set.of("name"), expansions));
+
+        assertThat(json.get(0).fieldNames()).toIterable().containsExactlyInAnyOrder("id", "name", "TaskDetails");
+        assertThat(json.get(0).get("TaskDetails").get(0).get("name").asText()).isEqualTo("Design");
+    }
+
+    @Test
+    public void testFilter_AcceptsExpandKeyAsField() throws Exception {
+        TaskRes task = new TaskRes(5, "Feature", null, ProgressStatus.TODO, List.of());
+
+        JsonNode json = write(FieldSelection.filter(List.of(task), JacksonConfig.TASK_FILTER, TaskRes.class,
+                Set.of(TaskRes.EXPAND_TASK_DETAILS), Set.of()));
+
+        assertThat(json.get(0).fieldNames()).toIterable().containsExactlyInAnyOrder("id", "TaskDetails");
+    }
+
+    @Test
+    public void testWrite_KeepsTaskDetailsWireName() throws Exception {
+        TaskRes task = new TaskRes(5, "Feature", null, ProgressStatus.TODO, List.of(new TaskDetailRes(7, "Design")));
+
+        JsonNode json = write(FieldSelection.filter(task, JacksonConfig.TASK_FILTER, TaskRes.class, null, Set.of()));
+
+        assertThat(json.fieldNames()).toIterable()
+                .containsExactlyInAnyOrder("id", "name", "completeDate", "status", "TaskDetails");
+    }
+
+    @Test
+    public void testFilter_WhenFieldUnknown() {
+        assertThatThrownBy(() -> FieldSelection.filter(List.of(user), JacksonConfig.USER_FILTER, UserRes.class,
+                Set.of("password"), Set.of()))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining(MessageException.INVALID_FIELDS);
+    }
+
+    @Test
+    public void testExpand_WhenExpansionUnknown() {
+        assertThatThrownBy(() -> FieldSelection.expand(Set.of("user"), Set.of(TaskRes.EXPAND_TASK_DETAILS)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining(MessageException.INVALID_EXPAND);
+    }
+
+    private JsonNode write(MappingJacksonValue value) throws Exception {
+        // Mirrors the message converter, which only swaps the filter provider when one is set.
+        return objectMapper.readTree(value.getFilters() != null
+                ? objectMapper.writer(value.getFilters()).writeValueAsString(value.getValue())
+                : objectMapper.writeValueAsString(value.getValue()));
+    }
+}
@@ -0,0 +1,179 @@
+package com.test.finalproject.config;
+
+import com.test.finalproject.entity.User;
+import com.test.finalproject.enums.AccountStatus;
+import com.test.finalproject.enums.RoleName;
+import com.test.finalproject.model.projection.UserVersionRow;
+import com.test.finalproject.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JwtUtilTest {
+
+    private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdW5pdC10ZXN0cy1vbmx5LTAxMjM0NTY3ODk=";
+
+    private static final String OLD_SECRET = "b2xkLXNlY3JldC1rZXktZm9yLXVuaXQtdGVzdHMtb25seS0wMTIzNDU=";
+
+    private JwtUtil jwtUtil;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "keyId", "v2");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", 60000L);
+        jwtUtil.init();
+
+        user = User.builder()
+                .id(1)
+                .username("votuan123")
+                .email("votuan123@gmail.com")
+                .status(AccountStatus.ACTIVE)
+                .role(RoleName.USER)
+                .build();
+    }
+
+    @Test
+    public void testValidateToken_WhenSuccess() {
+        String token = jwtUtil.generateToken(user);
+
+        Optional<Claims> claims = jwtUtil.validateToken(token);
+
+        assertThat(claims).isPresent();
+        assertThat(claims.get().getSubject()).isEqualTo("votuan123");
+        assertThat(jwtUtil.isTokenValid(claims.get(), user)).isTrue();
+    }
+
+    @Test
+    public void testValidateToken_WhenTampered() {
+        String token = jwtUtil.generateToken(user);
+
+        assertThat(jwtUtil.validateToken(token + "x")).isEmpty();
+        assertThat(jwtUtil.validateToken("not-a-token")).isEmpty();
+    }
+
+    @Test
+    public void testValidateToken_WhenExpired() {
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", -1000L);
+        String token = jwtUtil.generateToken(user);
+
+        assertThat(jwtUtil.validateToken(token)).isEmpty();
+        assertThat(jwtUtil.isTokenValid(token, user)).isFalse();
+    }
+
+    @Test
+    public void testIsTokenValid_WhenOtherUser() {
+        Claims claims = jwtUtil.validateToken(jwtUtil.generateToken(user)).orElseThrow();
+        User other = User.builder().username("other").role(RoleName.USER).build();
+
+        assertThat(jwtUtil.isTokenValid(claims, other)).isFalse();
+    }
+
+    @Test
+    public void testValidateToken_WhenSignedWithRetiredKey() {
+        JwtUtil oldJwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(oldJwtUtil, "secretKey", OLD_SECRET);
+        ReflectionTestUtils.setField(oldJwtUtil, "keyId", "v1");
+        ReflectionTestUtils.setField(oldJwtUtil, "jwtExpiration", 60000L);
+        oldJwtUtil.init();
+        String token = oldJwtUtil.generateToken(user);
+
+        assertThat(jwtUtil.validateToken(token)).isEmpty();
+
+        ReflectionTestUtils.setField(jwtUtil, "retiredKeys", List.of("v1:" + OLD_SECRET));
+        jwtUtil.init();
+
+        assertThat(jwtUtil.validateToken(token)).isPresent();
+    }
+
+    @Test
+    public void testPrincipalFromClaims_WhenSuccess() {
+        user.setStatusVersion(3);
+        Claims claims = jwtUtil.validateToken(jwtUtil.generateToken(user)).orElseThrow();
+
+        JwtPrincipal principal = JwtPrincipal.fromClaims(claims);
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.id()).isEqualTo(1);
+        assertThat(principal.username()).isEqualTo("votuan123");
+        assertThat(principal.role()).isEqualTo(RoleName.USER);
+        assertThat(principal.statusVersion()).isEqualTo(3);
+        assertThat(principal.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    public void testRevocationRegistry_RejectsOlderStatusVersion() {
+        AccountRevocationRegistry registry = new AccountRevocationRegistry(null);
+
+        assertThat(registry.isRevoked(1, 0)).isFalse();
+
+        registry.revoke(1, 2);
+        registry.revoke(1, 1);
+
+        assertThat(registry.isRevoked(1, 1)).isTrue();
+        assertThat(registry.isRevoked(1, 2)).isFalse();
+        assertThat(registry.isRevoked(2, 0)).isFalse();
+    }
+
+    @Test
+    public void testRevocationRegistry_AppliesOnlyAfterCommit() {
+        AccountRevocationRegistry registry = new AccountRevocationRegistry(null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            registry.revoke(1, 2);
+            assertThat(registry.isRevoked(1, 1)).isFalse();
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(registry.isRevoked(1, 1)).isTrue();
+    }
+
+    @Test
+    public void testRevocationRegistry_IgnoresRolledBackRevocation() {
+        AccountRevocationRegistry registry = new AccountRevocationRegistry(null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            registry.revoke(1, 2);
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(registry.isRevoked(1, 1)).isFalse();
+        assertThat(registry.isRevoked(1, 0)).isFalse();
+    }
+
+    @Test
+    public void testRevocationRegistry_ReloadsPersistedVersionsOfResetAndLockedUsers() {
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findRevokedVersions()).thenReturn(List.of(
+                new UserVersionRow(1, AccountStatus.ACTIVE, 2),
+                new UserVersionRow(2, AccountStatus.LOCKED, 1)));
+        AccountRevocationRegistry registry = new AccountRevocationRegistry(userRepository);
+
+        registry.afterSingletonsInstantiated();
+
+        assertThat(registry.isRevoked(1, 1)).isTrue();
+        assertThat(registry.isRevoked(1, 2)).isFalse();
+        assertThat(registry.isRevoked(2, 1)).isTrue();
+        assertThat(registry.isRevoked(3, 0)).isFalse();
+    }
+}
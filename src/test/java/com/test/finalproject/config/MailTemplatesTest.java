@@ -0,0 +1,64 @@
+package com.test.finalproject.config;
+
+import com.test.finalproject.enums.MailTemplate;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MailTemplatesTest {
+
+    private final MailTemplates templates = new MailTemplates(List.of("en", "vi"), "en");
+
+    @Test
+    public void everyTemplateRendersInEveryLanguage() {
+        Map<String, String> model = Map.of("firstName", "vo", "lastName", "tuan", "token", "t");
+
+        for (MailTemplate template : MailTemplate.values()) {
+            for (String locale : List.of("en", "vi")) {
+                SimpleMailMessage message = templates.render("a@gmail.com", locale, template, model);
+
+                assertThat(message.getTo()).containsExactly("a@gmail.com");
+                assertThat(message.getSubject()).isNotBlank().doesNotContain("{{");
+                assertThat(message.getText()).isNotBlank().doesNotContain("{{");
+            }
+        }
+    }
+
+    @Test
+    public void render_SubstitutesEachVariableOnce() {
+        SimpleMailMessage message = templates.render("a@gmail.com", "en", MailTemplate.ACCOUNT_UNLOCKED,
+                Map.of("firstName", "vo", "lastName", "tuan"));
+
+        assertThat(message.getSubject()).isEqualTo("Account Unlocked!");
+        assertThat(message.getText()).isEqualTo("Hi, vo tuan!\n\nYour account has been unlocked.");
+    }
+
+    @Test
+    public void language_FallsBackToDefault() {
+        assertThat(templates.language("vi")).isEqualTo("vi");
+        assertThat(templates.language("vi-VN")).isEqualTo("vi");
+        assertThat(templates.language("vi_VN")).isEqualTo("vi");
+        assertThat(templates.language("fr")).isEqualTo("en");
+        assertThat(templates.language(null)).isEqualTo("en");
+        assertThat(templates.language(" ")).isEqualTo("en");
+    }
+
+    @Test
+    public void render_WhenVariableMissing() {
+        assertThatThrownBy(() -> templates.render("a@gmail.com", "en", MailTemplate.VERIFICATION_CODE,
+                Map.of("firstName", "vo")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("token");
+    }
+
+    @Test
+    public void constructor_WhenDefaultLanguageMissing() {
+        assertThatThrownBy(() -> new MailTemplates(List.of("en"), "fr"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
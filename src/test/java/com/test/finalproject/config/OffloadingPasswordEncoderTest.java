@@ -0,0 +1,91 @@
+package com.test.finalproject.config;
+
+import com.test.finalproject.constants.MessageException;
+import com.test.finalproject.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OffloadingPasswordEncoderTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private OffloadingPasswordEncoder encoder;
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    public void testMatches_RunsOnHashingPool() {
+        encoder = new OffloadingPasswordEncoder(new BlockingEncoder(false), 1, 1, 1000, 1, new SimpleMeterRegistry());
+
+        assertThat(encoder.matches("password", "password")).isTrue();
+        assertThat(encoder.encode("password")).isEqualTo("password");
+    }
+
+    @Test
+    public void testMatches_WhenPoolSaturated() throws Exception {
+        encoder = new OffloadingPasswordEncoder(new BlockingEncoder(true), 1, 0, 1000, 5, new SimpleMeterRegistry());
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> encoder.matches("b", "b"))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessageContaining(MessageException.SERVICE_BUSY)
+                .extracting("retryAfterSeconds").isEqualTo(5L);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void testMatches_WhenHashingOutlastsTimeout() {
+        encoder = new OffloadingPasswordEncoder(new BlockingEncoder(true), 1, 1, 50, 5, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> encoder.matches("a", "a"))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessageContaining(MessageException.SERVICE_BUSY)
+                .extracting("retryAfterSeconds").isEqualTo(5L);
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+
+        private final boolean block;
+
+        BlockingEncoder(boolean block) {
+            this.block = block;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            if (block) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
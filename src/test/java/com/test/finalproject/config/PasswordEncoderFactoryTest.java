@@ -0,0 +1,73 @@
+package com.test.finalproject.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PasswordEncoderFactoryTest {
+
+    private static final String PASSWORD = "123@L.quy5401";
+
+    @Test
+    public void testLegacyBcryptHash_MatchesAndNeedsUpgrade() {
+        PasswordEncoder encoder = PasswordEncoderFactory.create("bcrypt", 5, 1000, 1024, 1);
+        String legacyHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+        assertThat(encoder.matches(PASSWORD, legacyHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacyHash)).isTrue();
+    }
+
+    @Test
+    public void testTargetHash_DoesNotNeedUpgrade() {
+        PasswordEncoder encoder = PasswordEncoderFactory.create("bcrypt", 5, 1000, 1024, 1);
+        String hash = encoder.encode(PASSWORD);
+
+        assertThat(hash).startsWith("{bcrypt}");
+        assertThat(encoder.matches(PASSWORD, hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    public void testWeakerCostOrOtherAlgorithm_NeedsUpgrade() {
+        PasswordEncoder weak = PasswordEncoderFactory.create("bcrypt", 4, 1000, 1024, 1);
+        PasswordEncoder argon2 = PasswordEncoderFactory.create("argon2", 5, 1000, 1024, 1);
+        String weakHash = weak.encode(PASSWORD);
+
+        assertThat(argon2.matches(PASSWORD, weakHash)).isTrue();
+        assertThat(argon2.upgradeEncoding(weakHash)).isTrue();
+        assertThat(PasswordEncoderFactory.create("bcrypt", 5, 1000, 1024, 1).upgradeEncoding(weakHash)).isTrue();
+        assertThat(argon2.encode(PASSWORD)).startsWith("{argon2}");
+    }
+
+    @Test
+    public void testPbkdf2WithFewerIterations_NeedsUpgrade() {
+        PasswordEncoder current = PasswordEncoderFactory.create("pbkdf2", 5, 1000, 1024, 1);
+        PasswordEncoder raised = PasswordEncoderFactory.create("pbkdf2", 5, 2000, 1024, 1);
+        String hash = current.encode(PASSWORD);
+
+        assertThat(hash).startsWith("{pbkdf2}1000$");
+        assertThat(current.upgradeEncoding(hash)).isFalse();
+        assertThat(raised.matches(PASSWORD, hash)).isTrue();
+        assertThat(raised.upgradeEncoding(hash)).isTrue();
+        assertThat(raised.upgradeEncoding(raised.encode(PASSWORD))).isFalse();
+    }
+
+    @Test
+    public void testPbkdf2HashWithoutIterations_MatchesAndNeedsUpgrade() {
+        PasswordEncoder encoder = PasswordEncoderFactory.create("pbkdf2", 5, 1000, 1024, 1);
+        String untagged = "{pbkdf2}" + PasswordEncoderFactory.pbkdf2(1000).encode(PASSWORD);
+
+        assertThat(encoder.matches(PASSWORD, untagged)).isTrue();
+        assertThat(encoder.matches("wrong", untagged)).isFalse();
+        assertThat(encoder.upgradeEncoding(untagged)).isTrue();
+    }
+
+    @Test
+    public void testUnsupportedAlgorithm() {
+        assertThatThrownBy(() -> PasswordEncoderFactory.create("md5", 5, 1000, 1024, 1))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,99 @@
+package com.test.finalproject.config;
+
+import com.test.finalproject.constants.MessageException;
+import com.test.finalproject.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void tryAcquire_AllowsBurstThenRefillsOnePerInterval() {
+        TokenBucket bucket = new TokenBucket(3, SECOND, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND);
+        assertThat(bucket.tryAcquire(SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(bucket.tryAcquire(SECOND)).isZero();
+        assertThat(bucket.tryAcquire(SECOND)).isEqualTo(SECOND);
+    }
+
+    @Test
+    public void tryAcquire_IdleBucketDoesNotSaveMoreThanCapacity() {
+        TokenBucket bucket = new TokenBucket(2, SECOND, 0);
+
+        long now = 100 * SECOND;
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isPositive();
+    }
+
+    @Test
+    public void tryAcquire_GrantsExactlyCapacityUnderContention() throws Exception {
+        TokenBucket bucket = new TokenBucket(100, SECOND, 0);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> runs = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            runs.add(threads.submit(() -> {
+                start.await();
+                for (int j = 0; j < 1000; j++) {
+                    if (bucket.tryAcquire(0) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> run : runs) {
+            run.get(10, TimeUnit.SECONDS);
+        }
+        threads.shutdown();
+
+        assertThat(granted.get()).isEqualTo(100);
+    }
+
+    @Test
+    public void passwordResetRateLimiter_KeysByEmailIgnoringCase() {
+        PasswordResetRateLimiter limiter = new PasswordResetRateLimiter(100, 1000, 2, 60000, 1000);
+
+        limiter.check(PasswordResetRateLimiter.normalizeEmail("Tuan@gmail.com"), "10.0.0.1");
+        limiter.check(PasswordResetRateLimiter.normalizeEmail("tuan@gmail.com "), "10.0.0.2");
+        limiter.check(PasswordResetRateLimiter.normalizeEmail("other@gmail.com"), "10.0.0.1");
+
+        assertThatThrownBy(() -> limiter.check(PasswordResetRateLimiter.normalizeEmail("TUAN@gmail.com"), "10.0.0.3"))
+                .isInstanceOfSatisfying(TooManyRequestsException.class, e -> {
+                    assertThat(e.getMessage()).isEqualTo(MessageException.TOO_MANY_REQUESTS);
+                    assertThat(e.getRetryAfterSeconds()).isBetween(1L, 60L);
+                });
+    }
+
+    @Test
+    public void passwordResetRateLimiter_KeysByClientAddress() {
+        PasswordResetRateLimiter limiter = new PasswordResetRateLimiter(2, 30000, 100, 1000, 1000);
+
+        limiter.check("a@gmail.com", "10.0.0.1");
+        limiter.check("b@gmail.com", "10.0.0.1");
+        limiter.check("c@gmail.com", "10.0.0.2");
+
+        assertThatThrownBy(() -> limiter.check("d@gmail.com", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+}
@@ -0,0 +1,210 @@
+package com.test.finalproject.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SmtpConnectionPoolTest {
+
+    private SmtpStub smtp;
+
+    private SmtpConnectionPool pool;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        smtp = new SmtpStub();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.port());
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", "5000");
+        pool = new SmtpConnectionPool(mailSender, 2);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        pool.destroy();
+        smtp.close();
+    }
+
+    @Test
+    public void send_ReusesOneConnectionAcrossBatches() {
+        pool.send(message("a@example.com"), message("b@example.com"));
+        pool.send(message("c@example.com"));
+
+        assertThat(smtp.delivered).containsExactly("a@example.com", "b@example.com", "c@example.com");
+        assertThat(smtp.connections.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void send_ReportsOnlyRejectedMessagesAndKeepsGoing() {
+        SimpleMailMessage rejected = message("reject@example.com");
+
+        assertThatThrownBy(() -> pool.send(message("a@example.com"), rejected, message("b@example.com")))
+                .isInstanceOfSatisfying(MailSendException.class,
+                        e -> assertThat(e.getFailedMessages()).containsOnlyKeys(rejected));
+
+        assertThat(smtp.delivered).containsExactly("a@example.com", "b@example.com");
+        assertThat(smtp.connections.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void send_ReconnectsWhenServerDroppedTheConnection() throws Exception {
+        pool.send(message("a@example.com"));
+        smtp.dropConnections();
+
+        pool.send(message("b@example.com"));
+
+        assertThat(smtp.delivered).containsExactly("a@example.com", "b@example.com");
+        assertThat(smtp.connections.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void send_OpensAtMostPoolSizeConnections() throws Exception {
+        ExecutorService senders = Executors.newFixedThreadPool(6);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> runs = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            int n = i;
+            runs.add(senders.submit(() -> {
+                start.await();
+                for (int j = 0; j < 5; j++) {
+                    pool.send(message("user" + n + "-" + j + "@example.com"));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> run : runs) {
+            run.get(30, TimeUnit.SECONDS);
+        }
+        senders.shutdown();
+
+        assertThat(smtp.delivered).hasSize(30);
+        assertThat(smtp.connections.get()).isBetween(1, 2);
+    }
+
+    private static SimpleMailMessage message(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@example.com");
+        message.setTo(to);
+        message.setSubject("subject");
+        message.setText("body");
+        return message;
+    }
+
+    /**
+     * Just enough SMTP to accept mail: every recipient containing "reject" is refused with 550.
+     */
+    private static class SmtpStub {
+
+        private final ServerSocket server = new ServerSocket(0);
+
+        private final ExecutorService sessions = Executors.newCachedThreadPool();
+
+        private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+
+        private final List<String> delivered = new CopyOnWriteArrayList<>();
+
+        private final AtomicInteger connections = new AtomicInteger();
+
+        SmtpStub() throws IOException {
+            sessions.submit(this::accept);
+        }
+
+        int port() {
+            return server.getLocalPort();
+        }
+
+        void dropConnections() throws IOException {
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+        }
+
+        void close() throws IOException {
+            dropConnections();
+            server.close();
+            sessions.shutdownNow();
+        }
+
+        private void accept() {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    connections.incrementAndGet();
+                    sockets.add(socket);
+                    sessions.submit(() -> session(socket));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void session(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                 PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+                reply(out, "220 stub ESMTP");
+                List<String> recipients = new CopyOnWriteArrayList<>();
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.toUpperCase();
+                    if (command.startsWith("RCPT TO:")) {
+                        String recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                        if (recipient.contains("reject")) {
+                            reply(out, "550 mailbox unavailable");
+                        } else {
+                            recipients.add(recipient);
+                            reply(out, "250 OK");
+                        }
+                    } else if (command.startsWith("DATA")) {
+                        reply(out, "354 go ahead");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // message body is not inspected
+                        }
+                        delivered.addAll(recipients);
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    } else if (command.startsWith("RSET") || command.startsWith("MAIL FROM:")) {
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    } else if (command.startsWith("QUIT")) {
+                        reply(out, "221 bye");
+                        return;
+                    } else {
+                        reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException ignored) {
+                // connection dropped by the test or the client
+            }
+        }
+
+        private static void reply(PrintWriter out, String line) {
+            out.print(line + "\r\n");
+            out.flush();
+        }
+    }
+}
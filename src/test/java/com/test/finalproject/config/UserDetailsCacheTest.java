@@ -0,0 +1,64 @@
+package com.test.finalproject.config;
+
+import com.test.finalproject.entity.User;
+import com.test.finalproject.enums.RoleName;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UserDetailsCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserDetailsCache userDetailsCache;
+
+    private AtomicInteger loads;
+
+    private Function<String, UserDetails> loader;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userDetailsCache = new UserDetailsCache(meterRegistry, 100, 60000);
+        loads = new AtomicInteger();
+        loader = username -> {
+            loads.incrementAndGet();
+            return User.builder().username(username).role(RoleName.USER).build();
+        };
+    }
+
+    @Test
+    public void testGet_LoadsOnceAndRecordsHitsAndMisses() {
+        userDetailsCache.get("votuan123", loader);
+        userDetailsCache.get("votuan123", loader);
+        userDetailsCache.get("votuan123", loader);
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cacheGets("hit")).isEqualTo(2);
+        assertThat(cacheGets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    public void testEvict_ReloadsUser() {
+        userDetailsCache.get("votuan123", loader);
+
+        userDetailsCache.evict("votuan123");
+        userDetailsCache.get("votuan123", loader);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", UserDetailsCache.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,76 @@
+package com.test.finalproject.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final VirtualThreadPinningMonitor monitor =
+            new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(20), 12);
+
+    @AfterEach
+    public void tearDown() {
+        monitor.destroy();
+    }
+
+    @Test
+    public void record_CountsEveryPinAndLogsEachSiteOnce() {
+        List<String> site = List.of("com.test.Foo.bar:10", "com.test.Foo.baz:20");
+
+        assertThat(monitor.record(Duration.ofMillis(50), site)).isTrue();
+        assertThat(monitor.record(Duration.ofMillis(70), site)).isFalse();
+        assertThat(monitor.record(Duration.ofMillis(30), List.of("com.test.Other.run:5"))).isTrue();
+
+        assertThat(meterRegistry.counter("jvm.threads.virtual.pinned").count()).isEqualTo(3);
+    }
+
+    @Test
+    public void start_DoesNotFailWhereTheEventIsUnknown() {
+        monitor.afterPropertiesSet();
+        monitor.destroy();
+    }
+
+    @Test
+    @EnabledIf("pinsOnSynchronized")
+    public void start_ReportsBlockingInsideSynchronized() throws Exception {
+        monitor.afterPropertiesSet();
+        Object lock = new Object();
+
+        Thread thread = new VirtualThreadTaskExecutor().getVirtualThreadFactory().newThread(() -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        thread.start();
+        thread.join();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (meterRegistry.counter("jvm.threads.virtual.pinned").count() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(meterRegistry.counter("jvm.threads.virtual.pinned").count()).isGreaterThanOrEqualTo(1);
+    }
+
+    /**
+     * Virtual threads exist from JDK 21; from JDK 24 blocking in {@code synchronized} no longer pins.
+     */
+    static boolean pinsOnSynchronized() {
+        int feature = Runtime.version().feature();
+        return feature >= 21 && feature < 24;
+    }
+}
@@ -0,0 +1,79 @@
+package com.test.finalproject.controller;
+
+import com.test.finalproject.config.PasswordResetRateLimiter;
+import com.test.finalproject.constants.ApiEndpoints;
+import com.test.finalproject.constants.MessageException;
+import com.test.finalproject.exception.GlobalExceptionHandler;
+import com.test.finalproject.exception.TooManyRequestsException;
+import com.test.finalproject.service.AuthService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The forgot-password limit is taken in the controller, before the transactional service opens a
+ * transaction, on the same normalized email the service looks up.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AuthControllerRateLimitTest {
+
+    private static final String END_POINT = ApiEndpoints.PREFIX + ApiEndpoints.ACC_V1 + "/forget-password/request";
+
+    @Mock
+    private AuthService authService;
+
+    @Mock
+    private PasswordResetRateLimiter resetRateLimiter;
+
+    @InjectMocks
+    private AuthController authController;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    public void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(authController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    public void requestForgotPassword_NormalizesEmailOnceForLimitAndLookup() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.post(END_POINT)
+                        .param("email", " TuanVo132@Gmail.com ")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.1");
+                            return request;
+                        }))
+                .andExpect(status().isCreated());
+
+        InOrder inOrder = inOrder(resetRateLimiter, authService);
+        inOrder.verify(resetRateLimiter).check("tuanvo132@gmail.com", "10.0.0.1");
+        inOrder.verify(authService).requestForgotPassword("tuanvo132@gmail.com");
+    }
+
+    @Test
+    public void requestForgotPassword_WhenRateLimited() throws Exception {
+        doThrow(new TooManyRequestsException(MessageException.TOO_MANY_REQUESTS, 30))
+                .when(resetRateLimiter).check(anyString(), anyString());
+
+        mvc.perform(MockMvcRequestBuilders.post(END_POINT).param("email", "test@test.com"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"))
+                .andExpect(jsonPath("$.message").value(MessageException.TOO_MANY_REQUESTS));
+
+        verify(authService, never()).requestForgotPassword(anyString());
+    }
+}
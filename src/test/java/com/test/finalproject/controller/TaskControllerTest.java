@@ -10,6 +10,8 @@ import com.test.finalproject.enums.AccountStatus;
 import com.test.finalproject.enums.ProgressStatus;
 import com.test.finalproject.exception.BadRequestException;
 import com.test.finalproject.exception.NotFoundException;
+import com.test.finalproject.model.dtos.common.PageRes;
+import com.test.finalproject.model.dtos.task.TaskFilter;
 import com.test.finalproject.model.dtos.task.TaskReq;
 import com.test.finalproject.model.dtos.task.TaskRes;
 import com.test.finalproject.service.TaskService;
@@ -18,6 +20,7 @@ import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
@@ -28,6 +31,7 @@ import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
@@ -98,13 +102,16 @@ public class TaskControllerTest extends AbstractTest {
     @Test
     public void success_GetAllTasks() throws Exception {
 
-        when(taskService.getTasks()).thenReturn(Collections.singletonList(res));
+        when(taskService.getTasks(any(TaskFilter.class), any(Pageable.class), anyBoolean()))
+                .thenReturn(new PageRes<>(Collections.singletonList(res), 0, 20, false, null));
 
-        String inputJson = super.mapToJson(taskReq);
         mvc.perform(MockMvcRequestBuilders.get(END_POINT)
-                        .contentType(MediaType.APPLICATION_JSON_VALUE)
-                        .content(inputJson))
-                .andExpect(status().isOk());
+                        .param("status", "TODO")
+                        .param("page", "0")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(res.id()))
+                .andExpect(jsonPath("$.hasNext").value(false));
     }
 
     @Test
@@ -21,6 +21,7 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
@@ -48,7 +49,7 @@ public class UserControllerTest extends AbstractTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     public void success_GetAllUser() throws Exception {
-        when(userService.getAllUsers()).thenReturn(Collections.singletonList(userRes));
+        when(userService.getAllUsers(anyBoolean(), anyBoolean())).thenReturn(Collections.singletonList(userRes));
 
         mvc.perform(MockMvcRequestBuilders.get(END_POINT)
                         .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -67,7 +68,7 @@ public class UserControllerTest extends AbstractTest {
     @Test
     @WithMockUser(roles = "USER")
     public void handleAuthorizationDeniedException_GetAllUser() throws Exception {
-        when(userService.getAllUsers()).thenReturn(Collections.singletonList(userRes));
+        when(userService.getAllUsers(anyBoolean(), anyBoolean())).thenReturn(Collections.singletonList(userRes));
 
         mvc.perform(MockMvcRequestBuilders.get(END_POINT)
                         .contentType(MediaType.APPLICATION_JSON_VALUE))
@@ -0,0 +1,92 @@
+package com.test.finalproject.repository;
+
+import com.test.finalproject.entity.Task;
+import com.test.finalproject.entity.User;
+import com.test.finalproject.enums.AccountStatus;
+import com.test.finalproject.enums.ProgressStatus;
+import com.test.finalproject.enums.RoleName;
+import com.test.finalproject.model.projection.TaskDetailRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class BatchInsertTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskDetailRepository taskDetailRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void insertAll_ReturnsGeneratedIdsInInputOrderAcrossBatches() {
+        User user = persistUser();
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1201; i++) {
+            tasks.add(Task.builder()
+                    .name("Imported " + i)
+                    .status(ProgressStatus.TODO)
+                    .user(User.builder().id(user.getId()).build())
+                    .build());
+        }
+
+        List<Integer> ids = taskRepository.insertAll(tasks);
+
+        assertThat(ids).hasSize(tasks.size()).doesNotHaveDuplicates().isSorted();
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM task WHERE id = ?", String.class, ids.get(1200)))
+                .isEqualTo("Imported 1200");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM task WHERE user_id = ? AND status = 0 AND created_time IS NOT NULL",
+                Long.class, user.getId()))
+                .isEqualTo(1201L);
+    }
+
+    @Test
+    public void replaceTaskDetails_DeletesAndInsertsInBatches() {
+        Task task = entityManager.persistAndFlush(Task.builder()
+                .name("Checklist")
+                .status(ProgressStatus.TODO)
+                .user(persistUser())
+                .build());
+        taskDetailRepository.insertAll(task.getId(), List.of("Old 1", "Old 2"));
+
+        int deleted = taskDetailRepository.deleteAllByTaskId(task.getId());
+        List<Integer> ids = taskDetailRepository.insertAll(task.getId(), List.of("New 1", "New 2", "New 3"));
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(taskDetailRepository.findRowsByTaskIds(List.of(task.getId())))
+                .extracting(TaskDetailRow::id)
+                .containsExactlyElementsOf(ids);
+    }
+
+    private User persistUser() {
+        return entityManager.persistAndFlush(User.builder()
+                .username("batch-user")
+                .firstName("batch")
+                .lastName("user")
+                .email("batch-user@example.com")
+                .password("secret")
+                .role(RoleName.USER)
+                .status(AccountStatus.ACTIVE)
+                .build());
+    }
+}
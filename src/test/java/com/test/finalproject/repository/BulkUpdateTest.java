@@ -0,0 +1,104 @@
+package com.test.finalproject.repository;
+
+import com.test.finalproject.entity.Task;
+import com.test.finalproject.entity.User;
+import com.test.finalproject.enums.AccountStatus;
+import com.test.finalproject.enums.ProgressStatus;
+import com.test.finalproject.enums.RoleName;
+import com.test.finalproject.model.projection.UserStatusRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class BulkUpdateTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        user = entityManager.persistAndFlush(User.builder()
+                .username("bulk-user")
+                .firstName("bulk")
+                .lastName("user")
+                .email("bulk-user@example.com")
+                .password("secret")
+                .role(RoleName.USER)
+                .status(AccountStatus.ACTIVE)
+                .build());
+    }
+
+    @Test
+    public void completeAll_OnlyTransitionsTodoTasks() {
+        Task todo = persistTask(ProgressStatus.TODO);
+        Task done = persistTask(ProgressStatus.COMPLETE);
+        List<Integer> ids = List.of(todo.getId(), done.getId(), -1);
+
+        List<Integer> lockedIds = taskRepository.findIdsByStatusForUpdate(ids, ProgressStatus.TODO.ordinal());
+        long now = System.currentTimeMillis();
+        int updated = taskRepository.completeAll(ids, new Date(now), new Timestamp(now));
+        entityManager.clear();
+
+        assertThat(lockedIds).containsExactly(todo.getId());
+        assertThat(updated).isEqualTo(1);
+        Task completed = entityManager.find(Task.class, todo.getId());
+        assertThat(completed.getStatus()).isEqualTo(ProgressStatus.COMPLETE);
+        assertThat(completed.getCompleteDate()).isNotNull();
+        assertThat(completed.getModifiedTime()).isNotNull();
+    }
+
+    @Test
+    public void updateStatus_LocksOnlyActiveUsersAndBumpsVersion() {
+        User locked = entityManager.persistAndFlush(User.builder()
+                .username("locked-user")
+                .firstName("locked")
+                .lastName("user")
+                .email("locked-user@example.com")
+                .password("secret")
+                .role(RoleName.USER)
+                .status(AccountStatus.LOCKED)
+                .build());
+        List<Integer> ids = List.of(user.getId(), locked.getId(), -1);
+
+        List<UserStatusRow> rows = userRepository.findStatusRowsForUpdate(ids, AccountStatus.LOCKED);
+        int updated = userRepository.updateStatus(ids, AccountStatus.LOCKED, new Timestamp(System.currentTimeMillis()));
+        entityManager.clear();
+
+        assertThat(rows).extracting(UserStatusRow::id).containsExactly(user.getId());
+        assertThat(rows.get(0).email()).isEqualTo("bulk-user@example.com");
+        assertThat(updated).isEqualTo(1);
+        User reloaded = entityManager.find(User.class, user.getId());
+        assertThat(reloaded.getStatus()).isEqualTo(AccountStatus.LOCKED);
+        assertThat(reloaded.getStatusVersion()).isEqualTo(1);
+        assertThat(entityManager.find(User.class, locked.getId()).getStatusVersion()).isZero();
+    }
+
+    private Task persistTask(ProgressStatus status) {
+        return entityManager.persistAndFlush(Task.builder()
+                .name("Sprint task")
+                .status(status)
+                .user(user)
+                .build());
+    }
+}
@@ -0,0 +1,159 @@
+package com.test.finalproject.repository;
+
+import com.test.finalproject.config.AccountRevocationRegistry;
+import com.test.finalproject.config.UserDetailsCache;
+import com.test.finalproject.entity.Task;
+import com.test.finalproject.entity.TaskDetail;
+import com.test.finalproject.entity.User;
+import com.test.finalproject.enums.AccountStatus;
+import com.test.finalproject.enums.ProgressStatus;
+import com.test.finalproject.enums.RoleName;
+import com.test.finalproject.model.dtos.common.CursorRes;
+import com.test.finalproject.model.dtos.common.PageRes;
+import com.test.finalproject.model.dtos.task.TaskFilter;
+import com.test.finalproject.model.dtos.task.TaskRes;
+import com.test.finalproject.model.dtos.user.UserRes;
+import com.test.finalproject.service.MailService;
+import com.test.finalproject.service.impl.TaskServiceImpl;
+import com.test.finalproject.service.impl.UserServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Asserts that each listing runs a fixed number of statements regardless of row count
+ * and reads projections only, without hydrating entities.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({TaskServiceImpl.class, UserServiceImpl.class})
+public class ListingQueryCountTest {
+
+    private static final int USERS = 3;
+    private static final int TASKS_PER_USER = 4;
+    private static final int DETAILS_PER_TASK = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskServiceImpl taskService;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @MockBean
+    private MailService mailService;
+
+    @MockBean
+    private AccountRevocationRegistry revocationRegistry;
+
+    @MockBean
+    private UserDetailsCache userDetailsCache;
+
+    @MockBean
+    private Validator validator;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        for (int u = 0; u < USERS; u++) {
+            User user = entityManager.persist(User.builder()
+                    .username("user" + u)
+                    .email("user" + u + "@gmail.com")
+                    .password("password")
+                    .firstName("vo")
+                    .lastName("tuan")
+                    .status(AccountStatus.ACTIVE)
+                    .role(RoleName.USER)
+                    .build());
+            for (int t = 0; t < TASKS_PER_USER; t++) {
+                Task task = entityManager.persist(Task.builder()
+                        .name("task" + u + "-" + t)
+                        .status(ProgressStatus.TODO)
+                        .user(user)
+                        .build());
+                for (int d = 0; d < DETAILS_PER_TASK; d++) {
+                    entityManager.persist(TaskDetail.builder().name("detail" + d).task(task).build());
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void getTasks_RunsTaskAndDetailQueriesOnly() {
+        PageRes<TaskRes> page = taskService.getTasks(new TaskFilter(), PageRequest.of(0, 20), true);
+
+        assertThat(page.content()).hasSize(USERS * TASKS_PER_USER);
+        assertThat(page.content()).allSatisfy(task -> assertThat(task.taskDetails()).hasSize(DETAILS_PER_TASK));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    public void getTasks_TotalIgnoresAfterId() {
+        TaskFilter all = TaskFilter.builder().withTotal(true).build();
+        int firstId = taskService.getTasks(all, PageRequest.of(0, 1), false).content().get(0).id();
+        TaskFilter afterFirst = TaskFilter.builder().afterId(firstId).withTotal(true).build();
+
+        PageRes<TaskRes> page = taskService.getTasks(afterFirst, PageRequest.of(0, 20), false);
+
+        assertThat(page.content()).hasSize(USERS * TASKS_PER_USER - 1);
+        assertThat(page.totalElements()).isEqualTo(USERS * TASKS_PER_USER);
+    }
+
+    @Test
+    public void getTasksAfter_RunsTaskAndDetailQueriesOnly() {
+        CursorRes<TaskRes> batch = taskService.getTasksAfter(null, 100, true);
+
+        assertThat(batch.content()).hasSize(USERS * TASKS_PER_USER);
+        assertThat(batch.content()).allSatisfy(task -> assertThat(task.taskDetails()).hasSize(DETAILS_PER_TASK));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    public void getAllUsers_RunsUserTaskAndDetailQueriesOnly() {
+        List<UserRes> users = userService.getAllUsers(true, true);
+
+        assertThat(users).hasSize(USERS);
+        assertThat(users).allSatisfy(user -> assertThat(user.tasks()).hasSize(TASKS_PER_USER));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    public void getAllUsers_WithoutExpandRunsUserQueryOnly() {
+        List<UserRes> users = userService.getAllUsers(false, false);
+
+        assertThat(users).hasSize(USERS);
+        assertThat(users).allSatisfy(user -> assertThat(user.tasks()).isNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
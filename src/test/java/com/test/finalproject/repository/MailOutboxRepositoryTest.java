@@ -0,0 +1,74 @@
+package com.test.finalproject.repository;
+
+import com.test.finalproject.entity.MailOutbox;
+import com.test.finalproject.enums.MailStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class MailOutboxRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MailOutboxRepository outboxRepository;
+
+    @Test
+    public void findDueIdsForUpdate_ReturnsPendingMailsInDueOrder() {
+        long now = System.currentTimeMillis();
+        List<Integer> ids = outboxRepository.insertAll(List.of(
+                mail("late@example.com", MailStatus.PENDING, now - 1_000),
+                mail("early@example.com", MailStatus.PENDING, now - 60_000),
+                mail("future@example.com", MailStatus.PENDING, now + 60_000),
+                mail("sent@example.com", MailStatus.SENT, now - 60_000)));
+
+        List<Integer> due = outboxRepository.findDueIdsForUpdate(MailStatus.PENDING.ordinal(), new Timestamp(now), 10);
+        List<Integer> limited = outboxRepository.findDueIdsForUpdate(MailStatus.PENDING.ordinal(), new Timestamp(now), 1);
+
+        assertThat(due).containsExactly(ids.get(1), ids.get(0));
+        assertThat(limited).containsExactly(ids.get(1));
+    }
+
+    @Test
+    public void leaseAndMarkSent_UpdateOnlyTheGivenMails() {
+        long now = System.currentTimeMillis();
+        List<Integer> ids = outboxRepository.insertAll(List.of(
+                mail("a@example.com", MailStatus.PENDING, now - 1_000),
+                mail("b@example.com", MailStatus.PENDING, now - 1_000)));
+
+        outboxRepository.lease(ids, new Timestamp(now + 300_000));
+        int sent = outboxRepository.markSent(List.of(ids.get(0)), new Timestamp(now));
+        entityManager.clear();
+
+        MailOutbox first = outboxRepository.findById(ids.get(0)).orElseThrow();
+        MailOutbox second = outboxRepository.findById(ids.get(1)).orElseThrow();
+        assertThat(sent).isEqualTo(1);
+        assertThat(first.getStatus()).isEqualTo(MailStatus.SENT);
+        assertThat(first.getAttempts()).isEqualTo(1);
+        assertThat(first.getSentTime()).isNotNull();
+        assertThat(second.getStatus()).isEqualTo(MailStatus.PENDING);
+        assertThat(outboxRepository.findDueIdsForUpdate(MailStatus.PENDING.ordinal(), new Timestamp(now), 10)).isEmpty();
+    }
+
+    private static MailOutbox mail(String to, MailStatus status, long nextAttempt) {
+        return MailOutbox.builder()
+                .recipient(to)
+                .subject("subject")
+                .body("body")
+                .status(status)
+                .nextAttemptTime(new Timestamp(nextAttempt))
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.test.finalproject.repository;
+
+import com.test.finalproject.entity.PasswordResetToken;
+import com.test.finalproject.entity.User;
+import com.test.finalproject.enums.AccountStatus;
+import com.test.finalproject.enums.RoleName;
+import com.test.finalproject.service.impl.PasswordResetTokenPurger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class PasswordResetTokenPurgeTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PasswordResetTokenRepository tokenRepository;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        user = entityManager.persistAndFlush(User.builder()
+                .username("reset-user")
+                .firstName("reset")
+                .lastName("user")
+                .email("reset-user@example.com")
+                .password("secret")
+                .role(RoleName.USER)
+                .status(AccountStatus.ACTIVE)
+                .build());
+    }
+
+    @Test
+    public void purgeExpired_DeletesExpiredTokensInChunks() {
+        for (int i = 0; i < 7; i++) {
+            persistToken(-60_000);
+        }
+        PasswordResetToken live = persistToken(60_000);
+
+        int purged = new PasswordResetTokenPurger(tokenRepository, 3, 100).purgeExpired();
+        entityManager.clear();
+
+        assertThat(purged).isEqualTo(7);
+        assertThat(tokenRepository.findAll()).extracting(PasswordResetToken::getId).containsExactly(live.getId());
+    }
+
+    @Test
+    public void purgeExpired_StopsAfterMaxChunks() {
+        for (int i = 0; i < 7; i++) {
+            persistToken(-60_000);
+        }
+
+        int purged = new PasswordResetTokenPurger(tokenRepository, 2, 2).purgeExpired();
+        entityManager.clear();
+
+        assertThat(purged).isEqualTo(4);
+        assertThat(tokenRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    public void findByTokenHash_FetchesOwner() {
+        String token = UUID.randomUUID().toString();
+        entityManager.persistAndFlush(PasswordResetToken.builder()
+                .tokenHash(PasswordResetToken.hash(token))
+                .expiryDate(new Timestamp(System.currentTimeMillis() + 60_000))
+                .user(user)
+                .build());
+        entityManager.clear();
+
+        assertThat(tokenRepository.findByTokenHash(PasswordResetToken.hash(token)))
+                .hasValueSatisfying(t -> assertThat(t.getUser().getEmail()).isEqualTo(user.getEmail()));
+        assertThat(tokenRepository.findByTokenHash(token)).isEmpty();
+    }
+
+    @Test
+    public void existsIssuedSince_OnlyMatchesFreshUnexpiredTokens() {
+        long now = System.currentTimeMillis();
+        persistToken(60_000);
+        entityManager.clear();
+
+        assertThat(tokenRepository.existsIssuedSince(user.getId(), new Timestamp(now - 60_000), new Timestamp(now))).isTrue();
+        assertThat(tokenRepository.existsIssuedSince(user.getId(), new Timestamp(now + 60_000), new Timestamp(now))).isFalse();
+        assertThat(tokenRepository.existsIssuedSince(user.getId(), new Timestamp(now - 60_000), new Timestamp(now + 120_000))).isFalse();
+        assertThat(tokenRepository.existsIssuedSince(-1, new Timestamp(now - 60_000), new Timestamp(now))).isFalse();
+    }
+
+    private PasswordResetToken persistToken(long expiresIn) {
+        return entityManager.persistAndFlush(PasswordResetToken.builder()
+                .tokenHash(PasswordResetToken.hash(UUID.randomUUID().toString()))
+                .expiryDate(new Timestamp(System.currentTimeMillis() + expiresIn))
+                .user(user)
+                .build());
+    }
+}
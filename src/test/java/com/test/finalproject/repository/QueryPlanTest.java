@@ -0,0 +1,232 @@
+package com.test.finalproject.repository;
+
+import com.test.finalproject.enums.AccountStatus;
+import com.test.finalproject.enums.MailStatus;
+import com.test.finalproject.enums.ProgressStatus;
+import com.test.finalproject.model.dtos.task.TaskFilter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls each repository query, captures the SQL and bind values Hibernate actually sent, and EXPLAINs
+ * that statement against the migrated schema. Each query must be served by the named index rather than
+ * a table scan. The plans are H2's in MySQL mode, so they show the generated SQL can use the Flyway
+ * indexes; they do not predict MySQL's optimizer choices on production data. FK indexes are named by
+ * the database and matched by prefix.
+ * <p>
+ * The listings that intentionally read every row ({@code UserRepository.findAllRows} and the
+ * {@code findAllOwnedRows} joins) are not covered: no index can keep them from reading the table.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class QueryPlanTest {
+
+    private static final String PRIMARY_KEY = "primary_key";
+
+    private static final String TASK_USER_FK = "fk_task_on_userid";
+
+    private static final String TASK_DETAIL_TASK_FK = "fk_taskdetail_on_taskid";
+
+    private static final String RESET_TOKEN_USER_FK = "fk_passwordresettoken_on_userid";
+
+    private static final Timestamp NOW = Timestamp.valueOf("2024-01-01 00:00:00");
+
+    private static final List<RecordedStatement> STATEMENTS = new ArrayList<>();
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskDetailRepository taskDetailRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository tokenRepository;
+
+    @Autowired
+    private MailOutboxRepository outboxRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                query("TaskRepository.findTasks(status)", "idx_task_status_complete_date",
+                        test -> test.taskRepository.findTasks(
+                                TaskFilter.builder().status(ProgressStatus.TODO).build(), PageRequest.of(0, 20))),
+                query("TaskRepository.findTasks(userId, status)", "idx_task_user_status",
+                        test -> test.taskRepository.findTasks(
+                                TaskFilter.builder().userId(1).status(ProgressStatus.TODO).build(), PageRequest.of(0, 20))),
+                query("TaskRepository.findTasks(userId)", TASK_USER_FK,
+                        test -> test.taskRepository.findTasks(
+                                TaskFilter.builder().userId(1).build(), PageRequest.of(0, 20))),
+                query("TaskRepository.findTasks(status, completedFrom, completedTo)", "idx_task_status_complete_date",
+                        test -> test.taskRepository.findTasks(TaskFilter.builder()
+                                .status(ProgressStatus.COMPLETE)
+                                .completedFrom(LocalDate.of(2024, 1, 1))
+                                .completedTo(LocalDate.of(2024, 2, 1))
+                                .build(), PageRequest.of(0, 20))),
+                query("TaskRepository.findTasks(name)", "idx_task_name",
+                        test -> test.taskRepository.findTasks(
+                                TaskFilter.builder().name("Feature").build(), PageRequest.of(0, 20))),
+                query("TaskRepository.countTasks(status)", "idx_task_status_complete_date",
+                        test -> test.taskRepository.countTasks(TaskFilter.builder().status(ProgressStatus.TODO).build())),
+                query("TaskRepository.findRowsAfter", PRIMARY_KEY,
+                        test -> test.taskRepository.findRowsAfter(100, Limit.of(501))),
+                // H2 prefers the status index over the id list here; either avoids a scan.
+                query("TaskRepository.findIdsByStatusForUpdate", "idx_task_status_complete_date",
+                        test -> test.taskRepository.findIdsByStatusForUpdate(List.of(1, 2, 3), 0)),
+                query("TaskRepository.completeAll", "idx_task_status_complete_date",
+                        test -> test.taskRepository.completeAll(List.of(1, 2, 3), Date.valueOf("2024-01-01"), NOW)),
+                query("TaskDetailRepository.findRowsByTaskIds", TASK_DETAIL_TASK_FK,
+                        test -> test.taskDetailRepository.findRowsByTaskIds(List.of(1, 2, 3))),
+                query("UserRepository.findRevokedVersions", "idx_user_status_version",
+                        test -> test.userRepository.findRevokedVersions()),
+                query("UserRepository.findByEmail", "uc_user_email",
+                        test -> test.userRepository.findByEmail("a@gmail.com")),
+                query("UserRepository.findByUsername", "uc_user_username",
+                        test -> test.userRepository.findByUsername("votuan123")),
+                query("UserRepository.findStatusRowsForUpdate", PRIMARY_KEY,
+                        test -> test.userRepository.findStatusRowsForUpdate(List.of(1, 2, 3), AccountStatus.LOCKED)),
+                query("PasswordResetTokenRepository.findByTokenHash", "uc_password_reset_token_hash",
+                        test -> test.tokenRepository.findByTokenHash("0".repeat(64))),
+                query("PasswordResetTokenRepository.existsIssuedSince", RESET_TOKEN_USER_FK,
+                        test -> test.tokenRepository.existsIssuedSince(1, NOW, NOW)),
+                query("PasswordResetTokenRepository.findExpiredIds", "idx_password_reset_token_expiry",
+                        test -> test.tokenRepository.findExpiredIds(NOW, Limit.of(500))),
+                query("PasswordResetTokenRepository.deleteAllByUserId", RESET_TOKEN_USER_FK,
+                        test -> test.tokenRepository.deleteAllByUserId(1)),
+                query("MailOutboxRepository.findDueIdsForUpdate", "idx_mail_outbox_status_next_attempt",
+                        test -> test.outboxRepository.findDueIdsForUpdate(MailStatus.PENDING.ordinal(), NOW, 100)),
+                query("MailOutboxRepository.markSent", PRIMARY_KEY,
+                        test -> test.outboxRepository.markSent(List.of(1, 2, 3), NOW))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    public void repositoryQueryUsesIndex(String query, String expectedIndex, Consumer<QueryPlanTest> call) {
+        STATEMENTS.clear();
+        call.accept(this);
+        entityManager.flush();
+
+        assertThat(STATEMENTS).as(query).hasSize(1);
+        RecordedStatement statement = STATEMENTS.get(0);
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN " + statement.sql(), String.class, statement.parameters().values().toArray());
+
+        assertThat(plan).as(query).doesNotContain("tableScan");
+        assertThat(plan.toLowerCase()).as(query + "\n" + plan).contains("/* public." + expectedIndex);
+    }
+
+    private static Arguments query(String name, String expectedIndex, Consumer<QueryPlanTest> call) {
+        return Arguments.of(name, expectedIndex, call);
+    }
+
+    private record RecordedStatement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    @TestConfiguration
+    static class StatementRecording {
+
+        /**
+         * Wraps the pool so every prepared statement records its SQL and bind values into {@link #STATEMENTS}.
+         */
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new RecordingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    private static class RecordingDataSource extends DelegatingDataSource {
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return record(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return record(super.getConnection(username, password));
+        }
+
+        private static Connection record(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(
+                    QueryPlanTest.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        final Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement statement && !((String) args[0]).startsWith("EXPLAIN")) {
+                            final RecordedStatement recorded = new RecordedStatement((String) args[0], new TreeMap<>());
+                            STATEMENTS.add(recorded);
+                            return record(statement, recorded);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement record(PreparedStatement statement, RecordedStatement recorded) {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    QueryPlanTest.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length >= 2
+                                && args[0] instanceof Integer index) {
+                            recorded.parameters().put(index, method.getName().equals("setNull") ? null : args[1]);
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
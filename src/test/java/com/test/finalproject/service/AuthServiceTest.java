@@ -1,24 +1,30 @@
 package com.test.finalproject.service;
 
+import com.test.finalproject.config.AccountRevocationRegistry;
+import com.test.finalproject.config.UserDetailsCache;
 import com.test.finalproject.config.JwtUtil;
 import com.test.finalproject.constants.MessageException;
+import com.test.finalproject.entity.PasswordResetToken;
 import com.test.finalproject.entity.User;
 import com.test.finalproject.enums.AccountStatus;
+import com.test.finalproject.enums.MailTemplate;
 import com.test.finalproject.exception.BadRequestException;
 import com.test.finalproject.exception.NotFoundException;
 import com.test.finalproject.model.dtos.auth.*;
+import com.test.finalproject.repository.PasswordResetTokenRepository;
 import com.test.finalproject.repository.UserRepository;
 import com.test.finalproject.service.impl.AuthServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.sql.Timestamp;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -34,10 +40,10 @@ public class AuthServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private JwtUtil jwtUtil;
+    private PasswordResetTokenRepository tokenRepository;
 
     @Mock
-    private AuthenticationManager authenticationManager;
+    private JwtUtil jwtUtil;
 
     @Mock
     private MailService mailService;
@@ -45,6 +51,12 @@ public class AuthServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private AccountRevocationRegistry revocationRegistry;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -65,8 +77,6 @@ public class AuthServiceTest {
                 .email("votuan123@gmail.com")
                 .password("$2a$10$z7G...")
                 .status(AccountStatus.ACTIVE)
-                .expiryDate(new Timestamp(System.currentTimeMillis() + 90000))
-                .token(token)
                 .firstName("vo")
                 .lastName("tuan")
                 .build();
@@ -89,9 +99,30 @@ public class AuthServiceTest {
         assertEquals(authRes.token(),"Bearer token");
         verify(userRepository,times(1)).findByUsername(anyString());
         verify(passwordEncoder,times(1)).matches(anyString(),anyString());
+        verify(passwordEncoder,never()).encode(anyString());
+        verify(userRepository,never()).save(any(User.class));
         verify(jwtUtil,times(1)).generateToken(any(User.class));
     }
 
+    @Test
+    public void testLogin_WhenHashNeedsUpgrade() {
+        AuthReq authReq = AuthReq.builder().username("votuan123").password("123@L.quy5401").build();
+
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(anyString())).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("{bcrypt}$2a$12$upgraded");
+        when(jwtUtil.generateToken(any(User.class))).thenReturn("Bearer token");
+
+        AuthRes authRes = authService.login(authReq);
+
+        assertEquals(authRes.token(),"Bearer token");
+        assertEquals(user.getPassword(),"{bcrypt}$2a$12$upgraded");
+        verify(passwordEncoder,times(1)).matches(anyString(),anyString());
+        verify(userRepository,times(1)).save(user);
+        verify(userDetailsCache,times(1)).evict(user.getUsername());
+    }
+
     @Test
     public void testLogin_WhenUserNotFound() {
         AuthReq authReq = AuthReq.builder().username("votuan123").password("123@L.quy5401").build();
@@ -192,12 +223,45 @@ public class AuthServiceTest {
         String email = "votuan123@gmail.com";
 
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        ArgumentCaptor<PasswordResetToken> saved = ArgumentCaptor.forClass(PasswordResetToken.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, String>> model = ArgumentCaptor.forClass(Map.class);
 
         authService.requestForgotPassword(email);
 
         verify(userRepository, times(1)).findByEmail(anyString());
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, never()).save(any(User.class));
+        verify(tokenRepository, times(1)).save(saved.capture());
+        verify(mailService, times(1)).sendMail(eq(user.getEmail()), isNull(), eq(MailTemplate.VERIFICATION_CODE), model.capture());
+        String mailedToken = model.getValue().get("token");
+        assertEquals(PasswordResetToken.hash(mailedToken), saved.getValue().getTokenHash());
+        assertNotEquals(mailedToken, saved.getValue().getTokenHash());
+        assertSame(user, saved.getValue().getUser());
+    }
+
+    @Test
+    public void testRequestForgotPassword_WhenFirstNameMissing() {
+        user.setFirstName(null);
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, String>> model = ArgumentCaptor.forClass(Map.class);
+
+        authService.requestForgotPassword("votuan123@gmail.com");
+
+        verify(mailService, times(1)).sendMail(eq(user.getEmail()), isNull(), eq(MailTemplate.VERIFICATION_CODE), model.capture());
+        assertEquals("", model.getValue().get("firstName"));
+        assertNotNull(model.getValue().get("token"));
+    }
+
+    @Test
+    public void testRequestForgotPassword_WhenFreshTokenExistsReusesIt() {
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        when(tokenRepository.existsIssuedSince(eq(user.getId()), any(Timestamp.class), any(Timestamp.class))).thenReturn(true);
+
+        authService.requestForgotPassword(user.getEmail());
+
+        verify(tokenRepository, never()).save(any(PasswordResetToken.class));
+        verifyNoInteractions(mailService);
     }
 
     @Test
@@ -210,25 +274,28 @@ public class AuthServiceTest {
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining(MessageException.NOT_FOUND_USER);
         verify(userRepository,times(1)).findByEmail(anyString());
-        verify(userRepository,never()).save(any(User.class));
+        verify(tokenRepository,never()).save(any(PasswordResetToken.class));
     }
 
     //===================Test_Confirm_Verification======
     @Test
     public void testForgotPassword_WhenSuccess() {
         RequestForgot requestForgot = RequestForgot.builder()
-                .email("test@test.com")
+                .email("votuan123@gmail.com")
                 .password("123@Test123")
-                .token("token")
+                .token(token)
                 .build();
 
-        when(userRepository.findByEmailAndToken(anyString(), anyString())).thenReturn(Optional.of(user));
+        when(tokenRepository.findByTokenHash(PasswordResetToken.hash(token))).thenReturn(Optional.of(resetToken(90000)));
         when(userRepository.save(any(User.class))).thenReturn(user);
 
         authService.forgotPassword(requestForgot);
 
-        verify(userRepository, times(1)).findByEmailAndToken(anyString(), anyString());
+        verify(tokenRepository, times(1)).findByTokenHash(anyString());
+        verify(tokenRepository, times(1)).deleteAllByUserId(user.getId());
         verify(userRepository,times(1)).save(any(User.class));
+        verify(revocationRegistry,times(1)).revoke(user.getId(), 1);
+        verify(userDetailsCache,times(1)).evict(user.getUsername());
     }
 
     @Test
@@ -239,28 +306,53 @@ public class AuthServiceTest {
                 .token("token")
                 .build();
 
-        when(userRepository.findByEmailAndToken(anyString(), anyString())).thenReturn(Optional.empty());
+        when(tokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> authService.forgotPassword(requestForgot))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining(MessageException.NOT_FOUND_TOKEN_VERIFY);
+    }
+
+    @Test
+    public void testForgotPassword_WhenTokenBelongsToAnotherEmail() {
+        RequestForgot requestForgot = RequestForgot.builder()
+                .email("someone-else@gmail.com")
+                .password("123@Test123")
+                .token(token)
+                .build();
+
+        when(tokenRepository.findByTokenHash(PasswordResetToken.hash(token))).thenReturn(Optional.of(resetToken(90000)));
 
         assertThatThrownBy(() -> authService.forgotPassword(requestForgot))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining(MessageException.NOT_FOUND_TOKEN_VERIFY);
+        verify(userRepository,never()).save(any(User.class));
     }
 
     @Test
     public void testForgotPasswordExpired() {
         RequestForgot requestForgot = RequestForgot.builder()
-                .email("test@test.com")
+                .email("votuan123@gmail.com")
                 .password("123@Test123")
-                .token("token")
+                .token(token)
                 .build();
-        user.setExpiryDate(new Timestamp(System.currentTimeMillis() - 15*60*1000));
 
-        when(userRepository.findByEmailAndToken(anyString(), anyString())).thenReturn(Optional.of(user));
+        when(tokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(resetToken(-15*60*1000)));
 
         assertThatThrownBy(() -> authService.forgotPassword(requestForgot))
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining(MessageException.TOKEN_EXPIRED);
-        verify(userRepository,times(1)).findByEmailAndToken(anyString(), anyString());
+        verify(tokenRepository,times(1)).findByTokenHash(anyString());
+        verify(tokenRepository,never()).deleteAllByUserId(anyInt());
         verify(userRepository,never()).save(any(User.class));
     }
+
+    private PasswordResetToken resetToken(long expiresIn) {
+        return PasswordResetToken.builder()
+                .id(1)
+                .tokenHash(PasswordResetToken.hash(token))
+                .expiryDate(new Timestamp(System.currentTimeMillis() + expiresIn))
+                .user(user)
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,201 @@
+package com.test.finalproject.service;
+
+import com.test.finalproject.config.SmtpConnectionPool;
+import com.test.finalproject.entity.MailOutbox;
+import com.test.finalproject.enums.MailStatus;
+import com.test.finalproject.repository.MailOutboxRepository;
+import com.test.finalproject.service.impl.MailOutboxDispatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MailOutboxDispatcherTest {
+
+    @Mock
+    private MailOutboxRepository outboxRepository;
+
+    @Mock
+    private SmtpConnectionPool connectionPool;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    public void setUp() {
+        dispatcher = dispatcher(1, 0, 3);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        dispatcher.destroy();
+    }
+
+    @Test
+    public void testDispatch_WhenNothingDue() {
+        when(outboxRepository.findDueIdsForUpdate(eq(MailStatus.PENDING.ordinal()), any(Timestamp.class), eq(10)))
+                .thenReturn(List.of());
+
+        assertEquals(0, dispatcher.dispatch());
+
+        verifyNoInteractions(connectionPool);
+        verify(outboxRepository, never()).lease(anyCollection(), any());
+    }
+
+    @Test
+    public void testDispatch_SendsBatchOverOneConnectionAndMarksSent() {
+        List<MailOutbox> mails = List.of(mail(1, 0), mail(2, 0));
+        claim(mails);
+
+        assertEquals(2, dispatcher.dispatch());
+
+        ArgumentCaptor<SimpleMailMessage[]> sent = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+        verify(connectionPool, times(1)).send(sent.capture());
+        assertEquals(2, sent.getValue().length);
+        verify(outboxRepository, times(1)).lease(eq(List.of(1, 2)), any(Timestamp.class));
+        verify(outboxRepository, times(1)).markSent(eq(List.of(1, 2)), any(Timestamp.class));
+        verify(outboxRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDispatch_RetriesOnlyFailedMessagesWithBackoff() {
+        MailOutbox ok = mail(1, 0);
+        MailOutbox bad = mail(2, 1);
+        claim(List.of(ok, bad));
+        doAnswer(invocation -> {
+            Map<Object, Exception> failed = new LinkedHashMap<>();
+            failed.put(invocation.getArgument(1), new IllegalStateException("mailbox unavailable"));
+            throw new MailSendException(failed);
+        }).when(connectionPool).send(any(SimpleMailMessage[].class));
+        long before = System.currentTimeMillis();
+
+        assertEquals(1, dispatcher.dispatch());
+
+        verify(outboxRepository, times(1)).markSent(eq(List.of(1)), any(Timestamp.class));
+        ArgumentCaptor<List<MailOutbox>> retried = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository, times(1)).saveAll(retried.capture());
+        assertEquals(List.of(bad), retried.getValue());
+        assertEquals(2, bad.getAttempts());
+        assertEquals(MailStatus.PENDING, bad.getStatus());
+        assertEquals("mailbox unavailable", bad.getLastError());
+        assertTrue(bad.getNextAttemptTime().getTime() >= before + 2000);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDispatch_GivesUpAfterMaxAttempts() {
+        MailOutbox last = mail(1, 2);
+        MailOutbox first = mail(2, 0);
+        claim(List.of(last, first));
+        doThrow(new MailAuthenticationException("bad credentials")).when(connectionPool).send(any(SimpleMailMessage[].class));
+
+        assertEquals(0, dispatcher.dispatch());
+
+        ArgumentCaptor<List<MailOutbox>> retried = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository, times(1)).saveAll(retried.capture());
+        assertEquals(2, retried.getValue().size());
+        assertEquals(MailStatus.FAILED, last.getStatus());
+        assertEquals(MailStatus.PENDING, first.getStatus());
+        verify(outboxRepository, never()).markSent(anyCollection(), any());
+    }
+
+    @Test
+    public void testBackoff_DoublesUpToMax() throws InterruptedException {
+        MailOutboxDispatcher backoffOnly = dispatcher(1, 0, 100);
+        MailOutbox mail = mail(1, 0);
+        claim(List.of(mail));
+        doThrow(new MailSendException("down")).when(connectionPool).send(any(SimpleMailMessage[].class));
+
+        long[] delays = new long[4];
+        for (int i = 0; i < delays.length; i++) {
+            long before = System.currentTimeMillis();
+            backoffOnly.dispatch();
+            delays[i] = mail.getNextAttemptTime().getTime() - before;
+        }
+
+        assertTrue(delays[0] >= 1000 && delays[0] < 2000);
+        assertTrue(delays[1] >= 2000 && delays[1] < 3000);
+        assertTrue(delays[2] >= 4000 && delays[2] < 5000);
+        assertTrue(delays[3] >= 5000 && delays[3] < 6000);
+        backoffOnly.destroy();
+    }
+
+    @Test
+    public void testDispatch_PacesBatchesToConfiguredRate() throws InterruptedException {
+        MailOutboxDispatcher paced = dispatcher(1, 20, 3);
+        List<MailOutbox> batch = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            batch.add(mail(i, 0));
+        }
+        when(outboxRepository.findDueIdsForUpdate(eq(MailStatus.PENDING.ordinal()), any(Timestamp.class), eq(10)))
+                .thenReturn(batch.stream().map(MailOutbox::getId).toList(), batch.stream().map(MailOutbox::getId).toList(), List.of());
+        when(outboxRepository.findAllById(anyList())).thenReturn(batch);
+
+        long start = System.nanoTime();
+        assertEquals(20, paced.dispatch());
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // 20 mails at 20 per second: the second batch of 10 waits for the first one's half second.
+        assertTrue(elapsedMillis >= 450, "elapsed " + elapsedMillis);
+        verify(connectionPool, times(2)).send(any(SimpleMailMessage[].class));
+        paced.destroy();
+    }
+
+    @Test
+    public void testDispatch_WorkersDrainInParallel() throws InterruptedException {
+        MailOutboxDispatcher parallel = dispatcher(3, 0, 3);
+        when(outboxRepository.findDueIdsForUpdate(eq(MailStatus.PENDING.ordinal()), any(Timestamp.class), eq(10)))
+                .thenReturn(List.of());
+
+        assertEquals(0, parallel.dispatch());
+
+        verify(outboxRepository, times(3)).findDueIdsForUpdate(anyInt(), any(Timestamp.class), anyInt());
+        parallel.destroy();
+    }
+
+    private MailOutboxDispatcher dispatcher(int concurrency, int ratePerSecond, int maxAttempts) {
+        return new MailOutboxDispatcher(outboxRepository, connectionPool, new TransactionTemplate(transactionManager),
+                concurrency, ratePerSecond, 10, maxAttempts, 1000, 5000, 60000, false);
+    }
+
+    private void claim(List<MailOutbox> mails) {
+        List<Integer> ids = mails.stream().map(MailOutbox::getId).toList();
+        when(outboxRepository.findDueIdsForUpdate(eq(MailStatus.PENDING.ordinal()), any(Timestamp.class), eq(10)))
+                .thenReturn(ids);
+        when(outboxRepository.findAllById(ids)).thenReturn(mails);
+    }
+
+    private static MailOutbox mail(int id, int attempts) {
+        return MailOutbox.builder()
+                .id(id)
+                .recipient("user" + id + "@gmail.com")
+                .subject("subject")
+                .body("body " + id)
+                .status(MailStatus.PENDING)
+                .attempts(attempts)
+                .nextAttemptTime(new Timestamp(System.currentTimeMillis()))
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.test.finalproject.service;
+
+import com.test.finalproject.config.MailTemplates;
+import com.test.finalproject.entity.MailOutbox;
+import com.test.finalproject.enums.MailStatus;
+import com.test.finalproject.enums.MailTemplate;
+import com.test.finalproject.repository.MailOutboxRepository;
+import com.test.finalproject.service.impl.MailServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MailServiceTest {
+
+    @Mock
+    private MailOutboxRepository outboxRepository;
+
+    @Spy
+    private MailTemplates mailTemplates = new MailTemplates(List.of("en", "vi"), "en");
+
+    @InjectMocks
+    private MailServiceImpl mailService;
+
+    @Test
+    public void testSendMail_QueuesPendingRow() {
+        ArgumentCaptor<MailOutbox> saved = ArgumentCaptor.forClass(MailOutbox.class);
+
+        mailService.sendMail("votuan123@gmail.com", "subject", "body");
+
+        verify(outboxRepository, times(1)).save(saved.capture());
+        assertEquals("votuan123@gmail.com", saved.getValue().getRecipient());
+        assertEquals(MailStatus.PENDING, saved.getValue().getStatus());
+        assertEquals(0, saved.getValue().getAttempts());
+        assertNotNull(saved.getValue().getNextAttemptTime());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSendMails_QueuesOneRowPerRecipientInOneBatch() {
+        SimpleMailMessage first = new SimpleMailMessage();
+        first.setTo("a@gmail.com", "b@gmail.com");
+        first.setSubject("subject");
+        first.setText("body");
+        SimpleMailMessage second = new SimpleMailMessage();
+        second.setTo("c@gmail.com");
+        ArgumentCaptor<List<MailOutbox>> inserted = ArgumentCaptor.forClass(List.class);
+
+        mailService.sendMails(List.of(first, second));
+
+        verify(outboxRepository, times(1)).insertAll(inserted.capture());
+        assertEquals(List.of("a@gmail.com", "b@gmail.com", "c@gmail.com"),
+                inserted.getValue().stream().map(MailOutbox::getRecipient).toList());
+        verify(outboxRepository, never()).save(any());
+    }
+
+    @Test
+    public void testSendTemplatedMail_RendersRecipientLanguage() {
+        ArgumentCaptor<MailOutbox> saved = ArgumentCaptor.forClass(MailOutbox.class);
+
+        mailService.sendMail("votuan123@gmail.com", "vi-VN", MailTemplate.VERIFICATION_CODE,
+                Map.of("firstName", "Tuan", "token", "abc-123"));
+
+        verify(outboxRepository, times(1)).save(saved.capture());
+        assertEquals("Mã xác minh!", saved.getValue().getSubject());
+        assertEquals("Xin chào Tuan!\n\nMã xác minh của bạn: abc-123", saved.getValue().getBody());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSendTemplatedMails_QueuesWaveAsOneBatch() {
+        ArgumentCaptor<List<MailOutbox>> inserted = ArgumentCaptor.forClass(List.class);
+        Map<String, String> model = Map.of("firstName", "vo", "lastName", "tuan");
+
+        mailService.sendMails(MailTemplate.ACCOUNT_LOCKED, List.of(
+                new MailService.Recipient("a@gmail.com", null, model),
+                new MailService.Recipient("b@gmail.com", "vi", model)));
+
+        verify(outboxRepository, times(1)).insertAll(inserted.capture());
+        assertEquals(List.of("Account Locked!", "Tài khoản bị khóa!"),
+                inserted.getValue().stream().map(MailOutbox::getSubject).toList());
+        assertEquals("Hi, vo tuan!\n\nYour account has been locked due to unusual activity.",
+                inserted.getValue().get(0).getBody());
+    }
+
+    @Test
+    public void testSendMails_WhenEmpty() {
+        mailService.sendMails(List.of());
+
+        verifyNoInteractions(outboxRepository);
+    }
+}
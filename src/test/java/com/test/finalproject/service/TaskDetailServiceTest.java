@@ -5,8 +5,10 @@ import com.test.finalproject.entity.Task;
 import com.test.finalproject.entity.TaskDetail;
 import com.test.finalproject.enums.ProgressStatus;
 import com.test.finalproject.exception.NotFoundException;
+import com.test.finalproject.model.dtos.taskDetail.TaskDetailBatchReq;
 import com.test.finalproject.model.dtos.taskDetail.TaskDetailReq;
 import com.test.finalproject.model.dtos.taskDetail.TaskDetailRes;
+import com.test.finalproject.model.projection.TaskDetailRow;
 import com.test.finalproject.repository.TaskDetailRepository;
 import com.test.finalproject.repository.TaskRepository;
 import com.test.finalproject.service.impl.TaskDetailServiceImpl;
@@ -17,12 +19,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -169,4 +173,71 @@ public class TaskDetailServiceTest {
         verify(taskDetailRepository,never()).delete(any(TaskDetail.class));
     }
 
+    //====================Test_Replace_Append=====================
+    @Test
+    public void testReplaceTaskDetails_WhenSuccess() {
+        TaskDetailBatchReq req = TaskDetailBatchReq.builder().names(List.of("Design", "Build")).build();
+        when(taskRepository.findByIdForUpdate(1)).thenReturn(Optional.of(task));
+        when(taskDetailRepository.insertAll(1, req.getNames())).thenReturn(List.of(7, 8));
+
+        List<TaskDetailRes> details = taskDetailService.replaceTaskDetails(1, req);
+
+        assertThat(details).extracting(TaskDetailRes::id).containsExactly(7, 8);
+        assertThat(details).extracting(TaskDetailRes::name).containsExactly("Design", "Build");
+        verify(taskDetailRepository,times(1)).deleteAllByTaskId(1);
+        verify(taskDetailRepository,never()).save(any(TaskDetail.class));
+    }
+
+    @Test
+    public void testReplaceTaskDetails_WhenTaskComplete() {
+        task.setStatus(ProgressStatus.COMPLETE);
+        when(taskRepository.findByIdForUpdate(1)).thenReturn(Optional.of(task));
+
+        assertThatThrownBy(() -> taskDetailService.replaceTaskDetails(1,
+                TaskDetailBatchReq.builder().names(List.of("Design")).build()))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining(MessageException.TASK_IS_COMPLETED);
+
+        verify(taskDetailRepository,never()).deleteAllByTaskId(anyInt());
+        verify(taskDetailRepository,never()).insertAll(anyInt(), anyList());
+    }
+
+    @Test
+    public void testAppendTaskDetails_ReturnsWholeChecklist() {
+        TaskDetailBatchReq req = TaskDetailBatchReq.builder().names(List.of("Build")).build();
+        when(taskRepository.findByIdForUpdate(1)).thenReturn(Optional.of(task));
+        when(taskDetailRepository.findRowsByTaskIds(List.of(1)))
+                .thenReturn(List.of(new TaskDetailRow(1, 7, "Design"), new TaskDetailRow(1, 8, "Build")));
+
+        List<TaskDetailRes> details = taskDetailService.appendTaskDetails(1, req);
+
+        assertThat(details).extracting(TaskDetailRes::id).containsExactly(7, 8);
+        verify(taskDetailRepository,times(1)).insertAll(1, List.of("Build"));
+        verify(taskDetailRepository,never()).deleteAllByTaskId(anyInt());
+    }
+
+    @Test
+    public void testAppendTaskDetails_WhenTaskComplete() {
+        task.setStatus(ProgressStatus.COMPLETE);
+        when(taskRepository.findByIdForUpdate(1)).thenReturn(Optional.of(task));
+
+        assertThatThrownBy(() -> taskDetailService.appendTaskDetails(1,
+                TaskDetailBatchReq.builder().names(List.of("Build")).build()))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining(MessageException.TASK_IS_COMPLETED);
+
+        verify(taskDetailRepository,never()).insertAll(anyInt(), anyList());
+    }
+
+    @Test
+    public void testAppendTaskDetails_WhenNotFoundTask() {
+        when(taskRepository.findByIdForUpdate(anyInt())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskDetailService.appendTaskDetails(1,
+                TaskDetailBatchReq.builder().names(List.of("Build")).build()))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining(MessageException.NOT_FOUND_TASK);
+
+        verify(taskDetailRepository,never()).insertAll(anyInt(), anyList());
+    }
 }
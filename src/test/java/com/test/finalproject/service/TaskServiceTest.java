@@ -6,26 +6,50 @@ import com.test.finalproject.entity.User;
 import com.test.finalproject.enums.ProgressStatus;
 import com.test.finalproject.exception.BadRequestException;
 import com.test.finalproject.exception.NotFoundException;
+import com.test.finalproject.model.dtos.common.CursorRes;
+import com.test.finalproject.model.dtos.common.PageRes;
+import com.test.finalproject.model.dtos.task.TaskBatchReq;
+import com.test.finalproject.model.dtos.task.TaskBatchRes;
+import com.test.finalproject.model.dtos.task.TaskCompleteRes;
+import com.test.finalproject.model.dtos.task.TaskFilter;
+import com.test.finalproject.model.dtos.task.TaskIdsReq;
 import com.test.finalproject.model.dtos.task.TaskReq;
 import com.test.finalproject.model.dtos.task.TaskRes;
+import com.test.finalproject.model.dtos.taskDetail.TaskDetailRes;
+import com.test.finalproject.model.projection.TaskDetailRow;
+import com.test.finalproject.model.projection.TaskRow;
+import com.test.finalproject.repository.TaskDetailRepository;
 import com.test.finalproject.repository.TaskRepository;
 import com.test.finalproject.repository.UserRepository;
 import com.test.finalproject.service.impl.TaskServiceImpl;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,10 +61,17 @@ public class TaskServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskDetailRepository taskDetailRepository;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
     private Task task;
+    private TaskRow taskRow;
     private TaskReq taskReq;
     @BeforeEach
     public void setUp() {
@@ -51,6 +82,8 @@ public class TaskServiceTest {
                 .name("Feature Manager User")
                 .build();
 
+        taskRow = new TaskRow(1, "Feature Manager User", null, ProgressStatus.TODO, 1);
+
         taskReq = TaskReq.builder()
                 .name("Feature Manager Task")
                 .userId(1)
@@ -60,27 +93,121 @@ public class TaskServiceTest {
     //====================Test_List=============================
     @Test
     public void testGetTasks() {
-        List<Task> tasks = new ArrayList<>();
-        tasks.add(task);
+        List<TaskRow> tasks = new ArrayList<>();
+        tasks.add(taskRow);
+        TaskFilter filter = new TaskFilter();
+        PageRequest pageable = PageRequest.of(0, 20);
+
+        when(taskRepository.findTasks(any(TaskFilter.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(tasks, pageable, true));
+        when(taskDetailRepository.findRowsByTaskIds(List.of(1)))
+                .thenReturn(List.of(new TaskDetailRow(1, 10, "Design"), new TaskDetailRow(1, 11, "Build")));
+
+        PageRes<TaskRes> taskResPage = taskService.getTasks(filter, pageable, true);
+
+        assertThat(taskResPage.content().size()).isEqualTo(1);
+        assertThat(taskResPage.content().get(0).taskDetails()).extracting(TaskDetailRes::id).containsExactly(10, 11);
+        assertThat(taskResPage.hasNext()).isTrue();
+        assertThat(taskResPage.totalElements()).isNull();
+        verify(taskRepository, times(1)).findTasks(any(TaskFilter.class), any(Pageable.class));
+        verify(taskRepository, never()).countTasks(any(TaskFilter.class));
+    }
+
+    @Test
+    public void testGetTasks_WithoutDetailsSkipsDetailQuery() {
+        PageRequest pageable = PageRequest.of(0, 20);
+
+        when(taskRepository.findTasks(any(TaskFilter.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(taskRow), pageable, false));
+
+        PageRes<TaskRes> taskResPage = taskService.getTasks(new TaskFilter(), pageable, false);
+
+        assertThat(taskResPage.content()).extracting(TaskRes::id).containsExactly(1);
+        assertThat(taskResPage.content().get(0).taskDetails()).isNull();
+        verify(taskDetailRepository, never()).findRowsByTaskIds(any());
+    }
+
+    @Test
+    public void testGetTasks_WithTotal() {
+        TaskFilter filter = TaskFilter.builder().withTotal(true).build();
+        PageRequest pageable = PageRequest.of(0, 20);
+
+        when(taskRepository.findTasks(any(TaskFilter.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(taskRow), pageable, false));
+        when(taskRepository.countTasks(filter)).thenReturn(1L);
+
+        PageRes<TaskRes> taskResPage = taskService.getTasks(filter, pageable, true);
 
-        when(taskRepository.findAll()).thenReturn(tasks);
+        assertThat(taskResPage.totalElements()).isEqualTo(1L);
+        verify(taskRepository, times(1)).countTasks(filter);
+    }
+
+    @Test
+    public void testGetTasks_WithAfterIdUsesKeyset() {
+        TaskFilter filter = TaskFilter.builder().afterId(100).build();
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+
+        when(taskRepository.findTasks(any(TaskFilter.class), captor.capture()))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
-        List<TaskRes> taskResList = taskService.getTasks();
+        taskService.getTasks(filter, PageRequest.of(50, 20, Sort.by(Sort.Direction.DESC, "name")), false);
 
-        assertThat(taskResList).isNotNull();
-        assertThat(taskResList.size()).isEqualTo(1);
-        verify(taskRepository, times(1)).findAll();
+        assertThat(captor.getValue().getOffset()).isZero();
+        assertThat(captor.getValue().getPageSize()).isEqualTo(20);
+        assertThat(captor.getValue().getSort()).isEqualTo(Sort.by("id"));
+    }
+
+    @Test
+    public void testGetTasks_WhenSortPropertyInvalid() {
+        assertThatThrownBy(() -> taskService.getTasks(new TaskFilter(), PageRequest.of(0, 20, Sort.by("user.password")), false))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining(MessageException.INVALID_SORT);
+        verify(taskRepository, never()).findTasks(any(TaskFilter.class), any(Pageable.class));
     }
 
     @Test
     public void testGetTasks_ReturnEmptyList() {
 
-        lenient().when(taskRepository.findAll()).thenReturn(new ArrayList<>());
+        when(taskRepository.findTasks(any(TaskFilter.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
+
+        PageRes<TaskRes> taskResPage = taskService.getTasks(new TaskFilter(), PageRequest.of(0, 20), true);
+
+        verify(taskRepository,times(1)).findTasks(any(TaskFilter.class), any(Pageable.class));
+        verify(taskDetailRepository,never()).findRowsByTaskIds(any());
+        assertThat(taskResPage.content()).isEmpty();
+        assertThat(taskResPage.hasNext()).isFalse();
+    }
+
+    //===================Test_Cursor==========================
+    @Test
+    public void testGetTasksAfter_ReturnsNextCursor() {
+        TaskRow second = new TaskRow(2, "Second", null, ProgressStatus.TODO, 1);
+
+        when(taskRepository.findRowsAfter(eq(0), any(Limit.class)))
+                .thenReturn(List.of(taskRow, second));
+
+        CursorRes<TaskRes> firstBatch = taskService.getTasksAfter(null, 1, false);
 
-        List<TaskRes> taskResList = taskService.getTasks();
+        assertThat(firstBatch.content()).extracting(TaskRes::id).containsExactly(1);
+        assertThat(firstBatch.nextCursor()).isNotNull();
 
-        verify(taskRepository,times(1)).findAll();
-        assertThat(taskResList).isEmpty();
+        when(taskRepository.findRowsAfter(eq(1), any(Limit.class)))
+                .thenReturn(List.of(second));
+
+        CursorRes<TaskRes> secondBatch = taskService.getTasksAfter(firstBatch.nextCursor(), 1, false);
+
+        assertThat(secondBatch.content()).extracting(TaskRes::id).containsExactly(2);
+        assertThat(secondBatch.nextCursor()).isNull();
+        verify(taskRepository, times(1)).findRowsAfter(1, Limit.of(2));
+    }
+
+    @Test
+    public void testGetTasksAfter_WhenCursorInvalid() {
+        assertThatThrownBy(() -> taskService.getTasksAfter("not-a-cursor", 10, false))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining(MessageException.INVALID_CURSOR);
+        verify(taskRepository, never()).findRowsAfter(anyInt(), any(Limit.class));
     }
 
     //===================Test_Get_Id============================
@@ -135,6 +262,73 @@ public class TaskServiceTest {
         assertThat(userRepository.findById(1)).isEmpty();
     }
 
+    //====================Test_Add_Batch=========================
+    @Test
+    public void testAddTasks_ReportsPerItemResults() {
+        TaskBatchReq req = TaskBatchReq.builder()
+                .tasks(List.of(
+                        taskReq,
+                        TaskReq.builder().name(" ").userId(1).build(),
+                        TaskReq.builder().name("Orphan").userId(99).build(),
+                        TaskReq.builder().name("Second").userId(1).build()))
+                .build();
+
+        when(userRepository.findExistingIds(Set.of(1, 99))).thenReturn(List.of(1));
+        when(taskRepository.insertAll(anyList())).thenReturn(List.of(10, 11));
+
+        TaskBatchRes res = taskService.addTasks(req);
+
+        assertThat(res.created()).isEqualTo(2);
+        assertThat(res.rejected()).isEqualTo(2);
+        assertThat(res.items()).extracting(TaskBatchRes.Item::id).containsExactly(10, null, null, 11);
+        assertThat(res.items()).extracting(TaskBatchRes.Item::error)
+                .containsExactly(null, MessageException.REQUIRED_NAME, MessageException.NOT_FOUND_USER, null);
+        verify(userRepository, times(1)).findExistingIds(any());
+        verify(userRepository, never()).findById(anyInt());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    public void testAddTasks_WhenAllRejectedSkipsInsert() {
+        TaskBatchReq req = TaskBatchReq.builder()
+                .tasks(List.of(TaskReq.builder().name("Orphan").userId(99).build()))
+                .build();
+
+        when(userRepository.findExistingIds(Set.of(99))).thenReturn(List.of());
+
+        TaskBatchRes res = taskService.addTasks(req);
+
+        assertThat(res.created()).isZero();
+        assertThat(res.items()).extracting(TaskBatchRes.Item::error).containsExactly(MessageException.NOT_FOUND_USER);
+        verify(taskRepository, never()).insertAll(anyList());
+    }
+
+    //====================Test_Complete_Bulk====================
+    @Test
+    public void testCompleteTasks_ReportsCompletedAndRejected() {
+        when(taskRepository.findIdsByStatusForUpdate(Set.of(1, 2, 3), ProgressStatus.TODO.ordinal()))
+                .thenReturn(List.of(1, 3));
+
+        TaskCompleteRes res = taskService.completeTasks(TaskIdsReq.builder().ids(List.of(3, 2, 1, 3)).build());
+
+        assertThat(res.completed()).containsExactly(3, 1);
+        assertThat(res.rejected()).containsExactly(2);
+        verify(taskRepository, times(1)).completeAll(eq(Set.of(1, 3)), any(), any());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    public void testCompleteTasks_WhenNoneTodoSkipsUpdate() {
+        when(taskRepository.findIdsByStatusForUpdate(Set.of(1), ProgressStatus.TODO.ordinal()))
+                .thenReturn(List.of());
+
+        TaskCompleteRes res = taskService.completeTasks(TaskIdsReq.builder().ids(List.of(1)).build());
+
+        assertThat(res.completed()).isEmpty();
+        assertThat(res.rejected()).containsExactly(1);
+        verify(taskRepository, never()).completeAll(any(), any(), any());
+    }
+
     //====================Test_Update==========================
     @Test
     public void testUpdateTask_WhenSuccess() {
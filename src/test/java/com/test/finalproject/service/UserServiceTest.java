@@ -1,27 +1,44 @@
 package com.test.finalproject.service;
 
+import com.test.finalproject.config.AccountRevocationRegistry;
+import com.test.finalproject.config.UserDetailsCache;
 import com.test.finalproject.constants.MessageException;
 import com.test.finalproject.entity.User;
 import com.test.finalproject.enums.AccountStatus;
+import com.test.finalproject.enums.MailTemplate;
 import com.test.finalproject.exception.NotFoundException;
+import com.test.finalproject.enums.ProgressStatus;
+import com.test.finalproject.model.dtos.task.TaskRes;
 import com.test.finalproject.model.dtos.user.UserRes;
+import com.test.finalproject.model.dtos.user.UserStatusRes;
+import com.test.finalproject.model.projection.TaskDetailRow;
+import com.test.finalproject.model.projection.TaskRow;
+import com.test.finalproject.model.projection.UserRow;
+import com.test.finalproject.model.projection.UserStatusRow;
+import com.test.finalproject.repository.TaskDetailRepository;
+import com.test.finalproject.repository.TaskRepository;
 import com.test.finalproject.repository.UserRepository;
 import com.test.finalproject.service.impl.MailServiceImpl;
 import com.test.finalproject.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 
@@ -31,9 +48,21 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskDetailRepository taskDetailRepository;
+
     @Mock
     private MailServiceImpl mailService;
 
+    @Mock
+    private AccountRevocationRegistry revocationRegistry;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -64,24 +93,62 @@ public class UserServiceTest {
         verify(userRepository,times(1)).save(any());
         assertThat(userRepository.findById(anyInt())).isNotNull();
         assertEquals(userRes.status(),AccountStatus.LOCKED);
+        verify(revocationRegistry,times(1)).revoke(1, 1);
+        verify(userDetailsCache,times(1)).evict("votuan13");
+        verify(mailService,times(1)).sendMail("votuan13@gmail.com", null, MailTemplate.ACCOUNT_LOCKED,
+                Map.of("firstName", "vo", "lastName", "tuan"));
     }
 
     @Test
     public void testGetAllUsersUsers_ReturnsUserList() {
-        var userList = new ArrayList<User>();
-        userList.add(user);
+        var userList = new ArrayList<UserRow>();
+        userList.add(new UserRow(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(),
+                user.getEmail(), user.getRole(), user.getStatus()));
 
-        when(userRepository.findAll()).thenReturn(userList);
+        when(userRepository.findAllRows()).thenReturn(userList);
+        when(taskRepository.findAllOwnedRows())
+                .thenReturn(List.of(new TaskRow(5, "Feature", null, ProgressStatus.TODO, 1)));
+        when(taskDetailRepository.findAllOwnedRows())
+                .thenReturn(List.of(new TaskDetailRow(5, 7, "Design")));
 
-        var result = userService.getAllUsers();
+        var result = userService.getAllUsers(true, true);
 
-        verify(userRepository,times(1)).findAll();
+        verify(userRepository,times(1)).findAllRows();
         assertThat(result).isNotNull();
         assertThat(result.size()).isEqualTo(1);
         assertEquals(result.get(0).email(),user.getEmail());
         assertEquals(result.get(0).firstName(),user.getFirstName());
         assertEquals(result.get(0).lastName(),user.getLastName());
+        assertThat(result.get(0).tasks()).extracting(TaskRes::id).containsExactly(5);
+        assertThat(result.get(0).tasks().get(0).taskDetails()).hasSize(1);
+
+    }
+
+    @Test
+    public void testGetAllUsers_WithoutTasksRunsUserQueryOnly() {
+        when(userRepository.findAllRows()).thenReturn(List.of(new UserRow(user.getId(), user.getUsername(),
+                user.getFirstName(), user.getLastName(), user.getEmail(), user.getRole(), user.getStatus())));
+
+        var result = userService.getAllUsers(false, false);
+
+        assertThat(result).extracting(UserRes::id).containsExactly(1);
+        assertThat(result.get(0).tasks()).isNull();
+        verify(taskRepository,never()).findAllOwnedRows();
+        verify(taskDetailRepository,never()).findAllOwnedRows();
+    }
+
+    @Test
+    public void testGetAllUsers_WithTasksOnlySkipsDetailQuery() {
+        when(userRepository.findAllRows()).thenReturn(List.of(new UserRow(user.getId(), user.getUsername(),
+                user.getFirstName(), user.getLastName(), user.getEmail(), user.getRole(), user.getStatus())));
+        when(taskRepository.findAllOwnedRows())
+                .thenReturn(List.of(new TaskRow(5, "Feature", null, ProgressStatus.TODO, 1)));
+
+        var result = userService.getAllUsers(true, false);
 
+        assertThat(result.get(0).tasks()).extracting(TaskRes::id).containsExactly(5);
+        assertThat(result.get(0).tasks().get(0).taskDetails()).isNull();
+        verify(taskDetailRepository,never()).findAllOwnedRows();
     }
 
     @Test
@@ -97,13 +164,65 @@ public class UserServiceTest {
         assertThat(userRepository.findById(anyInt())).isEmpty();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUpdateUsersStatus_LocksRevokesAndMailsAsOneBatch() {
+        when(userRepository.findStatusRowsForUpdate(Set.of(1, 2, 3), AccountStatus.LOCKED))
+                .thenReturn(List.of(
+                        new UserStatusRow(1, "votuan13", "tuan", "vo", "vothanhtuan069@gmail.com", null, 0),
+                        new UserStatusRow(3, "tuanvo33", "thanh", "vo", "tuanvo33@gmail.com", "vi", 4)));
+
+        UserStatusRes res = userService.updateUsersStatus(List.of(1, 2, 3), AccountStatus.LOCKED);
+
+        assertThat(res.updated()).containsExactly(1, 3);
+        assertThat(res.unchanged()).containsExactly(2);
+        verify(userRepository,times(1)).updateStatus(eq(Set.of(1, 3)), eq(AccountStatus.LOCKED), any());
+        verify(userRepository,never()).save(any());
+        verify(revocationRegistry,times(1)).revoke(1, 1);
+        verify(revocationRegistry,times(1)).revoke(3, 5);
+        verify(userDetailsCache,times(1)).evict("votuan13");
+        verify(userDetailsCache,times(1)).evict("tuanvo33");
+
+        ArgumentCaptor<List<MailService.Recipient>> mails = ArgumentCaptor.forClass(List.class);
+        verify(mailService,times(1)).sendMails(eq(MailTemplate.ACCOUNT_LOCKED), mails.capture());
+        verify(mailService,never()).sendMail(any(), any(), any(), any());
+        assertThat(mails.getValue()).containsExactly(
+                new MailService.Recipient("vothanhtuan069@gmail.com", null, Map.of("firstName", "tuan", "lastName", "vo")),
+                new MailService.Recipient("tuanvo33@gmail.com", "vi", Map.of("firstName", "thanh", "lastName", "vo")));
+    }
+
+    @Test
+    public void testUpdateUsersStatus_UnlockDoesNotRevoke() {
+        when(userRepository.findStatusRowsForUpdate(Set.of(1), AccountStatus.ACTIVE))
+                .thenReturn(List.of(new UserStatusRow(1, "votuan13", "tuan", "vo", "vothanhtuan069@gmail.com", null, 1)));
+
+        UserStatusRes res = userService.updateUsersStatus(List.of(1), AccountStatus.ACTIVE);
+
+        assertThat(res.updated()).containsExactly(1);
+        verify(revocationRegistry,never()).revoke(anyInt(), anyInt());
+        verify(userDetailsCache,times(1)).evict("votuan13");
+        verify(mailService,times(1)).sendMails(eq(MailTemplate.ACCOUNT_UNLOCKED), anyList());
+    }
+
+    @Test
+    public void testUpdateUsersStatus_WhenNothingChangesSkipsUpdate() {
+        when(userRepository.findStatusRowsForUpdate(Set.of(1), AccountStatus.LOCKED)).thenReturn(List.of());
+
+        UserStatusRes res = userService.updateUsersStatus(List.of(1), AccountStatus.LOCKED);
+
+        assertThat(res.updated()).isEmpty();
+        assertThat(res.unchanged()).containsExactly(1);
+        verify(userRepository,never()).updateStatus(any(), any(), any());
+    }
+
     @Test
     public void testGetAllUsersUsers_ReturnsEmptyList() {
-        when(userRepository.findAll()).thenReturn(new ArrayList<>());
+        when(userRepository.findAllRows()).thenReturn(new ArrayList<>());
 
-        var userList = userService.getAllUsers();
+        var userList = userService.getAllUsers(false, false);
 
-        verify(userRepository,times(1)).findAll();
+        verify(userRepository,times(1)).findAllRows();
+        verify(taskRepository,never()).findAllOwnedRows();
         assertThat(userList).isNotNull();
         assertThat(userList.size()).isEqualTo(0);
     }